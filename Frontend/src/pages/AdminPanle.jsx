@@ -317,6 +317,14 @@ const DataTable = ({ headers, data, onEdit, onDelete, loading, getNestedValue })
   );
 };
 
+// The demo data assigns users and courts round-robin by position across all loaded pages
+const simulateBookings = (bookings, users, courts, offset = 0) =>
+  (bookings || []).map((booking, index) => ({
+    ...booking,
+    userId: users && users.length > 0 ? users[(offset + index) % users.length].id : null,
+    courtId: courts && courts.length > 0 ? courts[(offset + index) % courts.length].id : null,
+  }));
+
 function AdminPanel() {
   const [activeTab, setActiveTab] = useState("dashboard");
   const [data, setData] = useState({
@@ -336,12 +344,14 @@ function AdminPanel() {
   const [selectedItem, setSelectedItem] = useState(null);
   const [formData, setFormData] = useState({});
   const [actionLoading, setActionLoading] = useState(false);
+  const [bookingsCursor, setBookingsCursor] = useState(null);
+  const [loadingMoreBookings, setLoadingMoreBookings] = useState(false);
 
   const loadData = useCallback(async () => {
     setLoading(true);
     setError("");
     try {
-      const [users, facilities, courts, bookings, matches, reviews] =
+      const [users, facilities, courts, bookingsPage, matches, reviews] =
         await Promise.all([
           apiService.getUsers(),
           apiService.getFacilities(),
@@ -351,11 +361,7 @@ function AdminPanel() {
           apiService.getReviews(),
         ]);
 
-      const simulatedBookings = (bookings || []).map((booking, index) => ({
-        ...booking,
-        userId: users && users.length > 0 ? users[index % users.length].id : null,
-        courtId: courts && courts.length > 0 ? courts[index % courts.length].id : null,
-      }));
+      const simulatedBookings = simulateBookings(bookingsPage?.content, users, courts);
 
       const simulatedMatches = (matches || []).map((match, index) => ({
         ...match,
@@ -370,6 +376,7 @@ function AdminPanel() {
         matches: simulatedMatches,
         reviews: reviews || [],
       });
+      setBookingsCursor(bookingsPage?.nextCursor || null);
     } catch (err) {
       console.error("Error loading data:", err);
       setError(`Failed to load data. Please try again later.`);
@@ -382,6 +389,27 @@ function AdminPanel() {
     loadData();
   }, [loadData]);
 
+  const loadMoreBookings = async () => {
+    if (!bookingsCursor) return;
+    setLoadingMoreBookings(true);
+    try {
+      const page = await apiService.getBookings({ cursor: bookingsCursor });
+      setData((prev) => ({
+        ...prev,
+        bookings: [
+          ...prev.bookings,
+          ...simulateBookings(page.content, prev.users, prev.courts, prev.bookings.length),
+        ],
+      }));
+      setBookingsCursor(page.nextCursor || null);
+    } catch (err) {
+      console.error("Error loading more bookings:", err);
+      setError("Failed to load more bookings. Please try again.");
+    } finally {
+      setLoadingMoreBookings(false);
+    }
+  };
+
   const getNestedValue = (item, header) => {
     const key = header.toLowerCase().replace(/ /g, "");
     switch (key) {
@@ -792,7 +820,7 @@ function AdminPanel() {
             />
             <StatCard
               title="Total Bookings"
-              value={bookings.length}
+              value={bookingsCursor ? `${bookings.length}+` : bookings.length}
               icon={Calendar}
               color="text-orange-400"
               loading={loading}
@@ -1002,6 +1030,19 @@ function AdminPanel() {
           loading={loading}
           getNestedValue={getNestedValue}
         />
+        {activeTab === "bookings" && bookingsCursor && !loading && (
+          <div className="flex justify-center">
+            <motion.button
+              whileHover={{ scale: 1.05 }}
+              whileTap={{ scale: 0.95 }}
+              onClick={loadMoreBookings}
+              disabled={loadingMoreBookings}
+              className="flex items-center gap-2 bg-gray-700 text-white px-4 py-2 rounded-lg hover:bg-gray-600 transition-colors disabled:opacity-50"
+            >
+              {loadingMoreBookings ? "Loading..." : "Load more bookings"}
+            </motion.button>
+          </div>
+        )}
       </div>
     );
   };
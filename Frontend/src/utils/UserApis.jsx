@@ -55,7 +55,9 @@ export const apiService = {
   deleteFacility: (id) => axiosInstance.delete(`/facilities/${id}`),
 
   // Bookings
-  getBookings: () => axiosInstance.get('/bookings').then(res => res.data),
+  // One page: { content, nextCursor }; pass nextCursor back as cursor for the next one, null means no more
+  getBookings: (params = {}) =>
+    axiosInstance.get('/bookings', { params: { size: 100, ...params } }).then(res => res.data),
   createBooking: (data) => axiosInstance.post('/bookings', data).then(res => res.data),
   updateBooking: (id, data) => axiosInstance.put(`/bookings/${id}`, data).then(res => res.data),
   deleteBooking: (id) => axiosInstance.delete(`/bookings/${id}`),
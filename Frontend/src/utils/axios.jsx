@@ -26,9 +26,38 @@ axiosInstance.interceptors.request.use(
   }
 );
 
+// Access tokens are short-lived; one shared refresh call renews them for every request that got a 401
+let refreshPromise = null;
+
+// Credential and session endpoints answer 401 for their own reasons; refreshing would not help them
+const NO_REFRESH_PATHS = ["/auth/login", "/auth/signup", "/auth/otp", "/auth/refresh", "/auth/logout"];
+
+const refreshSession = () => {
+  if (!refreshPromise) {
+    refreshPromise = axiosInstance
+      .post("/auth/refresh")
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
 axiosInstance.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
+    const original = error.config;
+    const refreshable =
+      original && !original._retried && !NO_REFRESH_PATHS.some((path) => original.url?.startsWith(path));
+    if (error.response?.status === 401 && refreshable) {
+      original._retried = true;
+      try {
+        await refreshSession();
+        return axiosInstance(original);
+      } catch (refreshError) {
+        // Fall through to clearing auth data below
+      }
+    }
     if (error.response?.status === 401) {
       console.error("401 Unauthorized - Clearing auth data");
       localStorage.removeItem("token");
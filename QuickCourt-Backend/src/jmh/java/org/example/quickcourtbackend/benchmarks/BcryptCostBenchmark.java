@@ -0,0 +1,61 @@
+package org.example.quickcourtbackend.benchmarks;
+
+import org.example.quickcourtbackend.services.PasswordHashingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login latency per BCrypt cost, sampled so JMH reports percentiles. {@code singleLogin} is one check on an
+ * idle machine; {@code loginSpike} pushes 16 concurrent logins through the default-sized hashing pool, so its
+ * p0.99 includes queueing. Set auth.bcrypt-strength to the highest cost whose spike p99 meets the target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BcryptCostBenchmark {
+
+    private static final String PASSWORD = "correct-horse-battery";
+
+    @Param({"10", "11", "12", "13"})
+    public int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private PasswordHashingService hashingService;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        // Queue and timeout large enough that nothing is shed: the benchmark measures waiting, not rejection
+        hashingService = new PasswordHashingService(encoder, cost, 0, 1024, 60_000);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashingService.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean singleLogin() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean loginSpike() {
+        return hashingService.matches(PASSWORD, hash);
+    }
+}
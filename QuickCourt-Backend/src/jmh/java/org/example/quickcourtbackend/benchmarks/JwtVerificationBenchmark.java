@@ -0,0 +1,67 @@
+package org.example.quickcourtbackend.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.example.quickcourtbackend.services.JWTService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating one JWT cookie: the old filter path, which built a key and parser and
+ * parsed the token four times, against one parse with the prebuilt parser and against a verified-token
+ * cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JWTService cachedService;
+    private JWTService uncachedService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedService = new JWTService(SECRET, 3_600_000, 604_800_000, 10_000);
+        uncachedService = new JWTService(SECRET, 3_600_000, 604_800_000, 1);
+        token = cachedService.createToken("player@example.com");
+        cachedService.verify(token);
+    }
+
+    @Benchmark
+    public boolean legacyFourParses() {
+        // validateTokenStructure, extractEmail, then validateToken's extractEmail and isTokenExpired
+        legacyParse(token);
+        String email = legacyParse(token).getSubject();
+        boolean sameUser = legacyParse(token).getSubject().equals(email);
+        return sameUser && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return uncachedService.extractAllPayloads(token);
+    }
+
+    @Benchmark
+    public JWTService.VerifiedToken cachedVerify() {
+        return cachedService.verify(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.quickcourtbackend.configuration;
+
+import org.example.quickcourtbackend.helper.InMemoryOtpStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Node-local OTP store, used unless {@code otp.store=database} selects the shared DatabaseOtpStore. Only
+ * suitable for a single node or sticky sessions.
+ */
+@Configuration
+public class OtpStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+    public InMemoryOtpStore inMemoryOtpStore(@Value("${otp.max-entries:100000}") int maxEntries) {
+        return new InMemoryOtpStore(maxEntries, Duration.ofSeconds(1));
+    }
+}
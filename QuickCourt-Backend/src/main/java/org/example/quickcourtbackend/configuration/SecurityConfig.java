@@ -5,6 +5,7 @@ package org.example.quickcourtbackend.configuration;
 import org.example.quickcourtbackend.filters.JwtAuthFilter;
 import org.example.quickcourtbackend.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -35,6 +36,10 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    // Pick with BcryptCostBenchmark; existing hashes are re-hashed at the next login after a change
+    @Value("${auth.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public UserDetailsService userDetailsService() {
         return new UserDetailsServiceImpl();
@@ -47,7 +52,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/auth/signup", "/api/v1/auth/login", 
-                                      "/api/v1/auth/otp/send", "/api/v1/auth/otp/verify").permitAll()
+                                      "/api/v1/auth/otp/send", "/api/v1/auth/otp/verify",
+                                      "/api/v1/auth/refresh", "/api/v1/auth/logout").permitAll()
                         .requestMatchers("/api/v1/auth/validate").authenticated()
                         .anyRequest().authenticated()
                 )
@@ -90,6 +96,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 }
\ No newline at end of file
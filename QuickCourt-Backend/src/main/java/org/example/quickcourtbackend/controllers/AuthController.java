@@ -18,6 +18,7 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -66,6 +67,10 @@ public class AuthController {
             log.warn("User signup failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
                     .body(ApiResponseDto.error(e.getMessage()));
+        } catch (ResponseStatusException e) {
+            log.warn("User signup shed: {}", e.getReason());
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(ApiResponseDto.error(e.getReason()));
         } catch (Exception e) {
             log.error("User signup error: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -102,6 +107,10 @@ public class AuthController {
             log.warn("Invalid credentials for email: {}", user.getEmail());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponseDto.error("Invalid email or password"));
+        } catch (ResponseStatusException e) {
+            log.warn("Login shed for email: {}", user.getEmail());
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(ApiResponseDto.error(e.getReason()));
         } catch (Exception e) {
             log.error("Login error: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -171,6 +180,42 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponseDto<String>> refresh(
+            @CookieValue(name = AuthService.REFRESH_COOKIE, required = false) String refreshToken,
+            HttpServletResponse response) {
+        try {
+            service.refreshSession(refreshToken, response);
+            return ResponseEntity.ok()
+                    .body(ApiResponseDto.success("Session refreshed", "User authenticated successfully"));
+
+        } catch (ResponseStatusException e) {
+            log.warn("Session refresh rejected: {}", e.getReason());
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(ApiResponseDto.error(e.getReason()));
+        } catch (Exception e) {
+            log.error("Session refresh error: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Internal server error occurred"));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponseDto<String>> logout(
+            @CookieValue(name = AuthService.REFRESH_COOKIE, required = false) String refreshToken,
+            HttpServletResponse response) {
+        try {
+            service.logout(refreshToken, response);
+            return ResponseEntity.ok()
+                    .body(ApiResponseDto.success("Logged out", "Session ended"));
+
+        } catch (Exception e) {
+            log.error("Logout error: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Internal server error occurred"));
+        }
+    }
+
     @GetMapping("/validate")
     public ResponseEntity<ApiResponseDto<String>> validate(HttpServletRequest request, HttpServletResponse response) {
         try {
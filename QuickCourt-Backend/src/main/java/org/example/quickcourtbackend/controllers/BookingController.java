@@ -2,13 +2,26 @@ package org.example.quickcourtbackend.controllers;
 
 import org.example.quickcourtbackend.dtos.BookingRequestDto;
 import org.example.quickcourtbackend.dtos.BookingResponseDto;
-import org.example.quickcourtbackend.models.Booking;
+import org.example.quickcourtbackend.dtos.BookingSummaryProjection;
+import org.example.quickcourtbackend.dtos.BulkBookingRequestDto;
+import org.example.quickcourtbackend.dtos.BulkBookingResponseDto;
+import org.example.quickcourtbackend.dtos.CursorPageDto;
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.ExportFormat;
+import org.example.quickcourtbackend.enums.PaymentStatus;
+import org.example.quickcourtbackend.services.BookingExportService;
 import org.example.quickcourtbackend.services.BookingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/bookings")
@@ -18,12 +31,31 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingExportService bookingExportService;
+
     @PostMapping
     public ResponseEntity<BookingResponseDto> createBooking(@RequestBody BookingRequestDto bookingRequestDto) {
         BookingResponseDto response = bookingService.createBooking(bookingRequestDto);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/holds")
+    public ResponseEntity<BookingResponseDto> createHold(@RequestBody BookingRequestDto bookingRequestDto) {
+        return ResponseEntity.ok(bookingService.createHold(bookingRequestDto));
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<BookingResponseDto> confirmHold(@PathVariable String id,
+                                                          @RequestParam(defaultValue = "PAID") PaymentStatus paymentStatus) {
+        return ResponseEntity.ok(bookingService.confirmHold(id, paymentStatus));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkBookingResponseDto> createBulkBookings(@RequestBody BulkBookingRequestDto bulkBookingRequestDto) {
+        return ResponseEntity.ok(bookingService.createBulkBookings(bulkBookingRequestDto));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookingResponseDto> getBooking(@PathVariable String id) {
         BookingResponseDto response = bookingService.getBookingById(id);
@@ -31,9 +63,35 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        List<Booking> bookings = bookingService.getAllBookings();
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<CursorPageDto<BookingSummaryProjection>> listBookings(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String courtId,
+            @RequestParam(required = false) String facilityId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(bookingService.listBookings(userId, courtId, facilityId, status, from, to, cursor, size));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String courtId,
+            @RequestParam(required = false) String facilityId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = bookingExportService.export(userId, courtId, facilityId, status, from, to, format);
+        boolean csv = format == ExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("bookings-" + from + "-" + to + (csv ? ".csv" : ".ndjson"))
+                        .build().toString())
+                .body(body);
     }
 
     @PutMapping("/{id}")
@@ -2,11 +2,19 @@ package org.example.quickcourtbackend.controllers;
 
 import org.example.quickcourtbackend.dtos.CourtRequestDto;
 import org.example.quickcourtbackend.dtos.CourtResponseDto;
+import org.example.quickcourtbackend.dtos.CourtScheduleDto;
+import org.example.quickcourtbackend.dtos.CourtSearchResultDto;
+import org.example.quickcourtbackend.dtos.PageResponseDto;
+import org.example.quickcourtbackend.dtos.TimeSlotDto;
+import org.example.quickcourtbackend.services.CourtScheduleService;
 import org.example.quickcourtbackend.services.CourtService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @RestController
@@ -17,6 +25,9 @@ public class CourtController {
     @Autowired
     private CourtService courtService;
 
+    @Autowired
+    private CourtScheduleService courtScheduleService;
+
     @PostMapping
     public ResponseEntity<CourtResponseDto> createCourt(@RequestBody CourtRequestDto courtRequestDto) {
         return ResponseEntity.ok(courtService.createCourt(courtRequestDto));
@@ -27,6 +38,37 @@ public class CourtController {
         return ResponseEntity.ok(courtService.getCourtById(id));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<PageResponseDto<CourtSearchResultDto>> searchFreeCourts(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String sportType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(courtService.searchFreeCourts(city, sportType, date, startTime, endTime,
+                minPrice, maxPrice, page, size));
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<List<TimeSlotDto>> getFreeSlots(@PathVariable String id,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(courtService.getFreeSlots(id, date));
+    }
+
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<CourtScheduleDto> getSchedule(@PathVariable String id) {
+        return ResponseEntity.ok(courtScheduleService.getSchedule(id));
+    }
+
+    @PutMapping("/{id}/schedule")
+    public ResponseEntity<CourtScheduleDto> replaceSchedule(@PathVariable String id, @RequestBody CourtScheduleDto schedule) {
+        return ResponseEntity.ok(courtScheduleService.replaceSchedule(id, schedule));
+    }
+
     @GetMapping
     public ResponseEntity<List<CourtResponseDto>> getAllCourts() {
         return ResponseEntity.ok(courtService.getAllCourts());
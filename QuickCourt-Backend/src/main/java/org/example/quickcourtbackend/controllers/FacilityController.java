@@ -1,8 +1,14 @@
 package org.example.quickcourtbackend.controllers;
 
 import org.example.quickcourtbackend.dtos.CreateFacilityRequestDto;
+import org.example.quickcourtbackend.dtos.CursorPageDto;
+import org.example.quickcourtbackend.dtos.NearbyFacilityDto;
+import org.example.quickcourtbackend.dtos.PageResponseDto;
+import org.example.quickcourtbackend.dtos.ReviewFeedProjection;
 import org.example.quickcourtbackend.models.Facility;
+import org.example.quickcourtbackend.services.FacilityLocator;
 import org.example.quickcourtbackend.services.FacilityService;
+import org.example.quickcourtbackend.services.ReviewService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,9 +20,14 @@ import java.util.List;
 public class FacilityController {
 
     private final FacilityService facilityService;
+    private final FacilityLocator facilityLocator;
+    private final ReviewService reviewService;
 
-    public FacilityController(FacilityService facilityService) {
+    public FacilityController(FacilityService facilityService, FacilityLocator facilityLocator,
+                              ReviewService reviewService) {
         this.facilityService = facilityService;
+        this.facilityLocator = facilityLocator;
+        this.reviewService = reviewService;
     }
 
     @PostMapping
@@ -30,11 +41,39 @@ public class FacilityController {
         return ResponseEntity.ok(facilityService.getAllFacilities());
     }
 
+    @GetMapping("/nearby")
+    public ResponseEntity<PageResponseDto<NearbyFacilityDto>> getNearbyFacilities(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(facilityLocator.withinRadius(latitude, longitude, radiusKm, page, size));
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyFacilityDto>> getNearestFacilities(@RequestParam double latitude,
+                                                                        @RequestParam double longitude,
+                                                                        @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(facilityLocator.nearest(latitude, longitude, k));
+    }
+
     @GetMapping("/{facilityId}")
     public ResponseEntity<Facility> getFacilityById(@PathVariable String facilityId) {
         return ResponseEntity.ok(facilityService.getFacilityById(facilityId));
     }
 
+    @GetMapping("/{facilityId}/reviews")
+    public ResponseEntity<CursorPageDto<ReviewFeedProjection>> getFacilityReviews(
+            @PathVariable String facilityId,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.getFacilityReviews(facilityId, rating, minRating, maxRating, cursor, size));
+    }
+
     @PutMapping("/{facilityId}")
     public ResponseEntity<Facility> updateFacility(@PathVariable String facilityId, @RequestBody Facility facility) {
         return ResponseEntity.ok(facilityService.updateFacility(facilityId, facility));
@@ -0,0 +1,33 @@
+package org.example.quickcourtbackend.controllers;
+
+import org.example.quickcourtbackend.services.LiveUpdateService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/live")
+@CrossOrigin(origins = {"https://quick-court.vercel.app" , "http://localhost:3000"} , allowCredentials = "true")
+public class LiveController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    public LiveController(LiveUpdateService liveUpdateService) {
+        this.liveUpdateService = liveUpdateService;
+    }
+
+    @GetMapping(value = "/courts/{courtId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeCourt(@PathVariable String courtId) {
+        return liveUpdateService.subscribeCourt(courtId);
+    }
+
+    @GetMapping(value = "/facilities/{facilityId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeFacility(@PathVariable String facilityId) {
+        return liveUpdateService.subscribeFacility(facilityId);
+    }
+
+    @GetMapping(value = "/matches/{matchId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeMatch(@PathVariable String matchId) {
+        return liveUpdateService.subscribeMatch(matchId);
+    }
+}
@@ -1,12 +1,19 @@
 package org.example.quickcourtbackend.controllers;
 
+import org.example.quickcourtbackend.dtos.MatchJoinRequestDto;
 import org.example.quickcourtbackend.dtos.MatchResponseDTO;
+import org.example.quickcourtbackend.dtos.OpenMatchDto;
+import org.example.quickcourtbackend.dtos.PageResponseDto;
+import org.example.quickcourtbackend.enums.SportType;
 import org.example.quickcourtbackend.models.Match;
 import org.example.quickcourtbackend.services.MatchService;
+import org.example.quickcourtbackend.services.OpenMatchIndex;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -15,9 +22,11 @@ import java.util.List;
 public class MatchController {
 
     private final MatchService matchService;
+    private final OpenMatchIndex openMatchIndex;
 
-    public MatchController(MatchService matchService) {
+    public MatchController(MatchService matchService, OpenMatchIndex openMatchIndex) {
         this.matchService = matchService;
+        this.openMatchIndex = openMatchIndex;
     }
 
     @PostMapping
@@ -31,11 +40,38 @@ public class MatchController {
         return ResponseEntity.ok(matchService.getAllMatches());
     }
 
+    @GetMapping("/open")
+    public ResponseEntity<PageResponseDto<OpenMatchDto>> getOpenMatches(
+            @RequestParam(required = false) SportType sportType,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "1") int minFreeSpots,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(openMatchIndex.find(sportType, city, from, to, minFreeSpots, page, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Match> getMatchById(@PathVariable String id) {
         return ResponseEntity.ok(matchService.getMatchById(id));
     }
 
+    @GetMapping("/{id}/participants")
+    public ResponseEntity<List<String>> getParticipants(@PathVariable String id) {
+        return ResponseEntity.ok(matchService.getParticipants(id));
+    }
+
+    @PostMapping("/{id}/participants")
+    public ResponseEntity<Match> joinMatch(@PathVariable String id, @RequestBody MatchJoinRequestDto request) {
+        return ResponseEntity.ok(matchService.joinMatch(id, request));
+    }
+
+    @DeleteMapping("/{id}/participants/{userId}")
+    public ResponseEntity<Match> leaveMatch(@PathVariable String id, @PathVariable String userId) {
+        return ResponseEntity.ok(matchService.leaveMatch(id, userId));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMatch(@PathVariable String id) {
         matchService.deleteMatch(id);
@@ -0,0 +1,33 @@
+package org.example.quickcourtbackend.controllers;
+
+import org.example.quickcourtbackend.dtos.SearchHitDto;
+import org.example.quickcourtbackend.services.SearchIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@CrossOrigin(origins = {"https://quick-court.vercel.app" , "http://localhost:3000"} , allowCredentials = "true")
+public class SearchController {
+
+    private final SearchIndex searchIndex;
+
+    public SearchController(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SearchHitDto>> search(@RequestParam String q,
+                                                     @RequestParam(required = false) String type,
+                                                     @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchIndex.search(q, type, limit));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(@RequestParam String prefix,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchIndex.suggest(prefix, limit));
+    }
+}
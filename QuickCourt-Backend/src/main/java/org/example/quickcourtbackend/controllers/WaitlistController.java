@@ -0,0 +1,33 @@
+package org.example.quickcourtbackend.controllers;
+
+import org.example.quickcourtbackend.dtos.WaitlistEntryDto;
+import org.example.quickcourtbackend.dtos.WaitlistRequestDto;
+import org.example.quickcourtbackend.services.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/waitlist")
+@CrossOrigin(origins = {"https://quick-court.vercel.app" , "http://localhost:3000"} , allowCredentials = "true")
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDto> joinWaitlist(@RequestBody WaitlistRequestDto waitlistRequestDto) {
+        return ResponseEntity.ok(waitlistService.join(waitlistRequestDto));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntryDto> getWaitlistEntry(@PathVariable String id) {
+        return ResponseEntity.ok(waitlistService.getEntry(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable String id) {
+        waitlistService.leave(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AvailabilityDeltaDto {
+    private String courtId;
+    private String facilityId;
+    private LocalDate date;
+    // Every free range of the court on that date after the change
+    private List<TimeSlotDto> freeSlots;
+}
@@ -0,0 +1,7 @@
+package org.example.quickcourtbackend.dtos;
+
+public interface BookingExportProjection extends BookingSummaryProjection {
+    String getCourtName();
+    String getFacilityName();
+    Double getPricePerHour();
+}
@@ -0,0 +1,17 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookingOccurrenceResultDto {
+    private LocalDate date;
+    private boolean booked;
+    private String bookingId;
+    private String reason;
+}
@@ -2,6 +2,7 @@ package org.example.quickcourtbackend.dtos;
 
 import lombok.*;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -20,5 +21,6 @@ public class BookingResponseDto {
     private Integer duration;
     private String status;
     private String paymentStatus;
+    private Instant holdExpiresAt;
 
 }
\ No newline at end of file
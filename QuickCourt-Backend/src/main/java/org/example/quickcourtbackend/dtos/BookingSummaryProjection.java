@@ -0,0 +1,22 @@
+package org.example.quickcourtbackend.dtos;
+
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.PaymentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Date;
+
+public interface BookingSummaryProjection {
+    String getId();
+    String getUserId();
+    String getCourtId();
+    String getFacilityId();
+    LocalDate getDate();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+    Integer getDuration();
+    BookingStatus getStatus();
+    PaymentStatus getPaymentStatus();
+    Date getCreatedAt();
+}
@@ -0,0 +1,30 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkBookingRequestDto {
+    private String userId;
+    private String courtId;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer duration;
+    private String status;              // Defaults to CONFIRMED
+    private String paymentStatus;       // Defaults to PENDING
+
+    private List<LocalDate> dates;      // Explicit occurrences, optional
+    private LocalDate startDate;        // Weekly recurrence from startDate to endDate, optional
+    private LocalDate endDate;
+    private List<DayOfWeek> daysOfWeek; // Defaults to the weekday of startDate
+
+    private Boolean allOrNothing;       // Defaults to true
+}
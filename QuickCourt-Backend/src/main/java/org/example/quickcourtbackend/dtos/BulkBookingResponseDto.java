@@ -0,0 +1,16 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkBookingResponseDto {
+    private int requested;
+    private int booked;
+    private List<BookingOccurrenceResultDto> results;
+}
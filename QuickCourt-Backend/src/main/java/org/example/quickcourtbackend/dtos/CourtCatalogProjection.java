@@ -0,0 +1,14 @@
+package org.example.quickcourtbackend.dtos;
+
+import org.example.quickcourtbackend.enums.SportType;
+
+public interface CourtCatalogProjection {
+    String getId();
+    String getName();
+    SportType getSportType();
+    Double getPricePerHour();
+    String getPhotoUrl();
+    String getFacilityId();
+    String getFacilityName();
+    String getCity();
+}
@@ -0,0 +1,6 @@
+package org.example.quickcourtbackend.dtos;
+
+public interface CourtChildIdProjection {
+    String getCourtId();
+    String getId();
+}
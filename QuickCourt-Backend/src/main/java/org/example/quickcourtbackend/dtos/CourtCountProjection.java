@@ -0,0 +1,6 @@
+package org.example.quickcourtbackend.dtos;
+
+public interface CourtCountProjection {
+    String getCourtId();
+    Long getTotal();
+}
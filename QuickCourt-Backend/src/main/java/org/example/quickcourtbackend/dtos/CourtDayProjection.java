@@ -0,0 +1,8 @@
+package org.example.quickcourtbackend.dtos;
+
+import java.time.LocalDate;
+
+public interface CourtDayProjection {
+    String getCourtId();
+    LocalDate getDate();
+}
@@ -20,8 +20,8 @@ public class CourtResponseDto {
     private Double pricePerHour;
     private String operatingHours;
     private List<String> availabilityIds;
-    private List<String> bookingIds;
-    private List<String> matchIds;
+    private long bookingCount;
+    private long matchCount;
     private String photoUrl;
 
     // Getters & Setters
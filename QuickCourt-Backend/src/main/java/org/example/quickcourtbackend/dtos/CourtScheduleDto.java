@@ -0,0 +1,15 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CourtScheduleDto {
+    private List<WeeklyRuleDto> weeklyRules;
+    private List<ScheduleExceptionDto> exceptions;
+}
@@ -0,0 +1,19 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CourtSearchResultDto {
+    private String courtId;
+    private String courtName;
+    private String sportType;
+    private Double pricePerHour;
+    private String photoUrl;
+    private String facilityId;
+    private String facilityName;
+    private String city;
+}
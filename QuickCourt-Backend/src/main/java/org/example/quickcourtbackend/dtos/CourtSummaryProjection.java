@@ -0,0 +1,13 @@
+package org.example.quickcourtbackend.dtos;
+
+import org.example.quickcourtbackend.enums.SportType;
+
+public interface CourtSummaryProjection {
+    String getId();
+    String getFacilityId();
+    String getName();
+    SportType getSportType();
+    Double getPricePerHour();
+    String getOperatingHours();
+    String getPhotoUrl();
+}
@@ -0,0 +1,17 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageDto<T> {
+    private List<T> content;
+    private int size;
+    // Opaque; null on the last page
+    private String nextCursor;
+}
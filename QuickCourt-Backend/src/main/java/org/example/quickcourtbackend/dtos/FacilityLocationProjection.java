@@ -0,0 +1,10 @@
+package org.example.quickcourtbackend.dtos;
+
+public interface FacilityLocationProjection {
+    String getId();
+    String getName();
+    String getAddress();
+    String getCity();
+    Double getLatitude();
+    Double getLongitude();
+}
@@ -0,0 +1,18 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FacilityRatingDto {
+    private long reviewCount;
+    // Null until the first review
+    private Double averageRating;
+    // Review counts for 1 to 5 stars
+    private List<Long> histogram;
+}
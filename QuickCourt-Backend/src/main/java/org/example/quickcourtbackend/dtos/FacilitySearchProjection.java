@@ -0,0 +1,9 @@
+package org.example.quickcourtbackend.dtos;
+
+public interface FacilitySearchProjection {
+    String getId();
+    String getName();
+    String getDescription();
+    String getCity();
+    String getAddress();
+}
@@ -0,0 +1,12 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MatchJoinRequestDto {
+    private String userId;
+}
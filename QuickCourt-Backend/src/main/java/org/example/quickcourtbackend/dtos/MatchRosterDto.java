@@ -0,0 +1,19 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MatchRosterDto {
+    private String matchId;
+    // A MatchStatus name, or DELETED once the match is gone
+    private String status;
+    private int currentPlayers;
+    private int maxPlayers;
+    private List<String> participantIds;
+}
@@ -0,0 +1,18 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NearbyFacilityDto {
+    private String id;
+    private String name;
+    private String address;
+    private String city;
+    private Double latitude;
+    private Double longitude;
+    private double distanceKm;
+}
@@ -0,0 +1,27 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OpenMatchDto {
+    private String id;
+    private String courtId;
+    private String courtName;
+    private String sportType;
+    private String facilityId;
+    private String facilityName;
+    private String city;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private int maxPlayers;
+    private int currentPlayers;
+    private int freeSpots;
+}
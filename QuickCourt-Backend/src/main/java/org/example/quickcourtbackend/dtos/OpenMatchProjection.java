@@ -0,0 +1,17 @@
+package org.example.quickcourtbackend.dtos;
+
+import org.example.quickcourtbackend.enums.MatchStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public interface OpenMatchProjection {
+    String getId();
+    String getCourtId();
+    LocalDate getDate();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+    Integer getMaxPlayers();
+    Integer getCurrentPlayers();
+    MatchStatus getStatus();
+}
@@ -0,0 +1,12 @@
+package org.example.quickcourtbackend.dtos;
+
+public interface RatingAggregateProjection {
+    String getFacilityId();
+    Long getReviewCount();
+    Long getRatingSum();
+    Long getStars1();
+    Long getStars2();
+    Long getStars3();
+    Long getStars4();
+    Long getStars5();
+}
@@ -0,0 +1,12 @@
+package org.example.quickcourtbackend.dtos;
+
+import java.util.Date;
+
+public interface ReviewFeedProjection {
+    String getId();
+    String getUserId();
+    String getReviewerName();
+    Integer getRating();
+    String getComment();
+    Date getCreatedAt();
+}
@@ -0,0 +1,18 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduleExceptionDto {
+    private LocalDate startDate;
+    private LocalDate endDate;     // Optional, defaults to startDate
+    private LocalTime openTime;    // Null with closeTime means closed
+    private LocalTime closeTime;
+}
@@ -0,0 +1,20 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SearchHitDto {
+    // FACILITY or COURT
+    private String type;
+    private String id;
+    private String name;
+    private String facilityId;
+    private String facilityName;
+    private String city;
+    private String sportType;
+    private float score;
+}
@@ -0,0 +1,11 @@
+package org.example.quickcourtbackend.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public interface SlotOccupancyProjection {
+    String getCourtId();
+    LocalDate getDate();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+}
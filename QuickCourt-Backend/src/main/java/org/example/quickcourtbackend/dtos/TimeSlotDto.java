@@ -0,0 +1,15 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TimeSlotDto {
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
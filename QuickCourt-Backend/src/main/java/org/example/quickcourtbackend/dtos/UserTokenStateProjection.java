@@ -0,0 +1,10 @@
+package org.example.quickcourtbackend.dtos;
+
+import org.example.quickcourtbackend.enums.UserRole;
+
+public interface UserTokenStateProjection {
+    String getId();
+    String getEmail();
+    UserRole getRole();
+    Integer getTokenVersion();
+}
@@ -0,0 +1,24 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WaitlistEntryDto {
+    private String id;
+    private String userId;
+    private String courtId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String status;
+    // 1-based place in the queue while WAITING
+    private Integer position;
+    private String bookingId;
+}
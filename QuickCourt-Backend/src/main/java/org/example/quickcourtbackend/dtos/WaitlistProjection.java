@@ -0,0 +1,12 @@
+package org.example.quickcourtbackend.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public interface WaitlistProjection {
+    String getId();
+    String getCourtId();
+    LocalDate getDate();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+}
@@ -0,0 +1,19 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WaitlistRequestDto {
+    private String userId;
+    private String courtId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
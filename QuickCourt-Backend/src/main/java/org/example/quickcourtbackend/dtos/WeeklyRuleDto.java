@@ -0,0 +1,17 @@
+package org.example.quickcourtbackend.dtos;
+
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WeeklyRuleDto {
+    private DayOfWeek dayOfWeek;
+    private LocalTime openTime;
+    private LocalTime closeTime;
+}
@@ -1,5 +1,5 @@
 package org.example.quickcourtbackend.enums;
 
 public enum BookingStatus {
-    CONFIRMED, CANCELLED, COMPLETED
+    HELD, CONFIRMED, CANCELLED, COMPLETED, NO_SHOW
 }
@@ -1,5 +1,5 @@
 package org.example.quickcourtbackend.enums;
 
 public enum MatchStatus {
-    OPEN, FULL, CANCELLED
+    OPEN, FULL, CANCELLED, COMPLETED
 }
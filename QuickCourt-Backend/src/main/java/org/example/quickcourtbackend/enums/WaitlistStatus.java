@@ -0,0 +1,5 @@
+package org.example.quickcourtbackend.enums;
+
+public enum WaitlistStatus {
+    WAITING, PROMOTED, CANCELLED
+}
@@ -6,7 +6,7 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.example.quickcourtbackend.services.JWTService;
-import org.example.quickcourtbackend.services.UserDetailsServiceImpl;
+import org.example.quickcourtbackend.services.PrincipalCache;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,19 +22,21 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JWTService jwtService;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
 
     // Public endpoints that don't require authentication
     private final List<String> excludedPaths = Arrays.asList(
             "/api/v1/auth/signup",
             "/api/v1/auth/login",
             "/api/v1/auth/otp/send",
-            "/api/v1/auth/otp/verify"
+            "/api/v1/auth/otp/verify",
+            "/api/v1/auth/refresh",
+            "/api/v1/auth/logout"
     );
 
-    public JwtAuthFilter(JWTService jwtService, UserDetailsServiceImpl userDetailsService) {
+    public JwtAuthFilter(JWTService jwtService, PrincipalCache principalCache) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -50,21 +52,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         try {
             String token = extractTokenFromCookies(request);
 
-            if (token != null && jwtService.validateTokenStructure(token)) {
-                String email = jwtService.extractEmail(token);
+            if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // One parse checks signature and expiry; repeat requests with the same token skip even that
+                JWTService.VerifiedToken verified = jwtService.verify(token);
 
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                // The principal comes from the token's claims, checked against the cached token version
+                UserDetails userDetails = verified != null ? principalCache.resolve(verified) : null;
 
-                    if (jwtService.validateToken(token, userDetails)) {
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails, null, userDetails.getAuthorities()
-                                );
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        logger.debug("User authentication set for email: " + email);
-                    }
+                if (userDetails != null) {
+                    String email = verified.subject();
+                    UsernamePasswordAuthenticationToken authToken =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities()
+                            );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    logger.debug("User authentication set for email: " + email);
                 }
             }
         } catch (Exception e) {
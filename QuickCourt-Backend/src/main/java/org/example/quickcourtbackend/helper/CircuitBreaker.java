@@ -0,0 +1,87 @@
+package org.example.quickcourtbackend.helper;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row it opens and refuses
+ * calls for {@code openMillis}; then a single trial call is let through, whose outcome either closes the
+ * breaker or opens it again.
+ */
+public final class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    public CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        if (failureThreshold < 1 || openMillis < 0) {
+            throw new IllegalArgumentException("Failure threshold must be positive and open time non-negative");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * True if a call may go ahead now. Every permitted call must be followed by {@link #onSuccess} or
+     * {@link #onFailure}.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() - openedAt < openMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * How long until an open breaker lets a trial call through; 0 when it is not open.
+     */
+    public synchronized long millisUntilTrial() {
+        return state == State.OPEN ? Math.max(0L, openedAt + openMillis - clock.getAsLong()) : 0L;
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.quickcourtbackend.helper;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable opening hours of one court: a {@link SlotBitmap} per weekday plus dated exceptions that
+ * replace the weekly hours for a date range. Nothing is materialised per day. Opening hours off the slot
+ * grid are rounded inward, so 09:10 to 21:50 opens 09:15 to 21:45.
+ */
+public final class CompiledSchedule {
+
+    public static final CompiledSchedule ALWAYS_OPEN = new Builder().build();
+
+    private final SlotBitmap[] weekly;
+    private final NavigableMap<LocalDate, Span> exceptions;
+
+    private CompiledSchedule(SlotBitmap[] weekly, NavigableMap<LocalDate, Span> exceptions) {
+        this.weekly = weekly;
+        this.exceptions = Collections.unmodifiableNavigableMap(exceptions);
+    }
+
+    public SlotBitmap openSlots(LocalDate date) {
+        Map.Entry<LocalDate, Span> exception = exceptions.floorEntry(date);
+        if (exception != null && !date.isAfter(exception.getValue().endDate())) {
+            return exception.getValue().open();
+        }
+        return weekly[date.getDayOfWeek().getValue() - 1];
+    }
+
+    public boolean isOpen(LocalDate date, LocalTime start, LocalTime end) {
+        return SlotBitmap.of(start, end).andNot(openSlots(date)).isEmpty();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private record Span(LocalDate endDate, SlotBitmap open) {
+    }
+
+    public static final class Builder {
+
+        private final SlotBitmap[] weekly = new SlotBitmap[7];
+        private final TreeMap<LocalDate, Span> exceptions = new TreeMap<>();
+        private boolean hasWeeklyRules;
+
+        private Builder() {
+        }
+
+        public Builder open(DayOfWeek day, LocalTime openTime, LocalTime closeTime) {
+            int index = day.getValue() - 1;
+            SlotBitmap current = weekly[index] != null ? weekly[index] : SlotBitmap.EMPTY;
+            weekly[index] = current.or(SlotBitmap.within(openTime, closeTime));
+            hasWeeklyRules = true;
+            return this;
+        }
+
+        /**
+         * Replaces the weekly hours on [startDate, endDate] with the given range, or closes the court
+         * when the times are null. Repeated calls for the same span add further open ranges.
+         */
+        public Builder exception(LocalDate startDate, LocalDate endDate, LocalTime openTime, LocalTime closeTime) {
+            if (endDate.isBefore(startDate)) {
+                throw new IllegalArgumentException("Exception end date must not be before its start date");
+            }
+            Span existing = exceptions.get(startDate);
+            if (existing != null && !existing.endDate().equals(endDate)) {
+                throw new IllegalArgumentException("Schedule exceptions starting on " + startDate + " overlap");
+            }
+            SlotBitmap open = openTime == null || closeTime == null ? SlotBitmap.EMPTY : SlotBitmap.within(openTime, closeTime);
+            exceptions.put(startDate, new Span(endDate, existing != null ? existing.open().or(open) : open));
+            return this;
+        }
+
+        public CompiledSchedule build() {
+            Map.Entry<LocalDate, Span> previous = null;
+            for (Map.Entry<LocalDate, Span> entry : exceptions.entrySet()) {
+                if (previous != null && !previous.getValue().endDate().isBefore(entry.getKey())) {
+                    throw new IllegalArgumentException("Schedule exceptions starting on "
+                            + previous.getKey() + " and " + entry.getKey() + " overlap");
+                }
+                previous = entry;
+            }
+
+            SlotBitmap[] days = new SlotBitmap[7];
+            for (int i = 0; i < 7; i++) {
+                if (!hasWeeklyRules) {
+                    days[i] = SlotBitmap.FULL_DAY;
+                } else {
+                    days[i] = weekly[i] != null ? weekly[i] : SlotBitmap.EMPTY;
+                }
+            }
+            return new CompiledSchedule(days, new TreeMap<>(exceptions));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.quickcourtbackend.helper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache whose entries each carry their own expiry. Keys are spread over independently locked
+ * segments, each a small LRU map, so concurrent readers rarely contend and memory never exceeds the
+ * capacity. An expired entry is never returned and is dropped when it is next looked up or pushed out.
+ */
+public final class ExpiringCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+    private final LongSupplier clock;
+
+    public ExpiringCache(int capacity, int segmentCount) {
+        this(capacity, segmentCount, System::currentTimeMillis);
+    }
+
+    public ExpiringCache(int capacity, int segmentCount, LongSupplier clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int requested = Math.max(1, Math.min(segmentCount, capacity));
+        int size = requested == 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Segment<K, V>[] segments = new Segment[size];
+        this.segments = segments;
+        this.mask = size - 1;
+        this.clock = clock;
+        int perSegment = Math.max(1, capacity / size);
+        for (int i = 0; i < size; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    /**
+     * The value, or null when absent or expired.
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Entry<V> entry = segment.map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtMillis() <= clock.getAsLong()) {
+                segment.map.remove(key);
+                return null;
+            }
+            return entry.value();
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.getAsLong()) {
+            return;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.map.put(key, new Entry<>(value, expiresAtMillis));
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.map.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.map.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Segment<K, V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<K, Entry<V>> map;
+
+        private Segment(int capacity) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.quickcourtbackend.helper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Points bucketed into fixed latitude/longitude cells. A radius query only visits the cells overlapping
+ * the circle's bounding box, then filters by great-circle distance, so its cost follows the number of
+ * nearby points rather than the size of the whole set. Longitude wraps at the antimeridian.
+ */
+public final class GeoGrid {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double MAX_DISTANCE_KM = Math.PI * EARTH_RADIUS_KM;
+
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lonCells;
+    private final Map<Long, Set<String>> cells = new HashMap<>();
+    private final Map<String, Point> points = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GeoGrid(double cellDegrees) {
+        if (!(cellDegrees > 0) || cellDegrees > 90) {
+            throw new IllegalArgumentException("Cell size must be in (0, 90] degrees");
+        }
+        this.cellDegrees = cellDegrees;
+        this.latCells = (int) Math.ceil(180 / cellDegrees);
+        this.lonCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    public void put(String id, double latitude, double longitude) {
+        validate(latitude, longitude);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            Point point = new Point(latitude, longitude);
+            points.put(id, point);
+            cells.computeIfAbsent(cellKey(latRow(latitude), lonColumn(longitude)), key -> new HashSet<>()).add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            points.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every point within {@code radiusKm} of the origin, nearest first; ties are ordered by id.
+     */
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm) {
+        validate(latitude, longitude);
+        if (radiusKm < 0) {
+            throw new IllegalArgumentException("Radius must not be negative");
+        }
+        double radiusDegrees = Math.min(radiusKm / KM_PER_DEGREE, 180);
+        int fromRow = latRow(Math.max(-90, latitude - radiusDegrees));
+        int toRow = latRow(Math.min(90, latitude + radiusDegrees));
+
+        // Widest longitude span of the circle, reached at the row edge closest to a pole
+        double polewardLat = Math.min(90, Math.abs(latitude) + radiusDegrees);
+        double cos = Math.cos(Math.toRadians(polewardLat));
+        double lonDegrees = cos <= 1e-9 ? 360 : radiusDegrees / cos;
+        int fromColumn;
+        int columns;
+        if (lonDegrees >= 180) {
+            fromColumn = 0;
+            columns = lonCells;
+        } else {
+            fromColumn = lonColumn(longitude - lonDegrees);
+            int toColumn = lonColumn(longitude + lonDegrees);
+            columns = Math.floorMod(toColumn - fromColumn, lonCells) + 1;
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long boxCells = (long) (toRow - fromRow + 1) * columns;
+            if (boxCells > cells.size()) {
+                // Wide box over sparse data: walking the occupied cells is cheaper than probing empty ones
+                for (Map.Entry<Long, Set<String>> cell : cells.entrySet()) {
+                    int row = (int) (cell.getKey() >> 32);
+                    int column = (int) (long) cell.getKey();
+                    if (row >= fromRow && row <= toRow && Math.floorMod(column - fromColumn, lonCells) < columns) {
+                        collect(cell.getValue(), latitude, longitude, radiusKm, hits);
+                    }
+                }
+            } else {
+                for (int row = fromRow; row <= toRow; row++) {
+                    for (int i = 0; i < columns; i++) {
+                        Set<String> ids = cells.get(cellKey(row, (fromColumn + i) % lonCells));
+                        if (ids != null) {
+                            collect(ids, latitude, longitude, radiusKm, hits);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::id));
+        return hits;
+    }
+
+    /**
+     * The {@code k} points closest to the origin, nearest first. The search radius starts at one cell and
+     * doubles until it holds {@code k} points, or every point when fewer than {@code k} exist, so sparse
+     * areas cost a few extra passes, not a full scan.
+     */
+    public List<Hit> nearest(double latitude, double longitude, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        double radiusKm = cellDegrees * KM_PER_DEGREE;
+        while (true) {
+            List<Hit> hits = withinRadius(latitude, longitude, radiusKm);
+            if (hits.size() >= Math.min(k, size()) || radiusKm >= MAX_DISTANCE_KM) {
+                return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+            }
+            radiusKm = Math.min(radiusKm * 2, MAX_DISTANCE_KM);
+        }
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void collect(Set<String> ids, double latitude, double longitude, double radiusKm, List<Hit> hits) {
+        for (String id : ids) {
+            Point point = points.get(id);
+            double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance <= radiusKm) {
+                hits.add(new Hit(id, distance));
+            }
+        }
+    }
+
+    private void removeLocked(String id) {
+        Point previous = points.remove(id);
+        if (previous == null) {
+            return;
+        }
+        long key = cellKey(latRow(previous.latitude()), lonColumn(previous.longitude()));
+        Set<String> ids = cells.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private int latRow(double latitude) {
+        return Math.min((int) Math.floor((latitude + 90) / cellDegrees), latCells - 1);
+    }
+
+    private int lonColumn(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), lonCells);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static void validate(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Latitude must be in [-90, 90] and longitude in [-180, 180]");
+        }
+    }
+
+    private record Point(double latitude, double longitude) {
+    }
+
+    public record Hit(String id, double distanceKm) {
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.quickcourtbackend.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * One-time codes keyed by email, capped at a fixed number of entries. Each code is dropped by a
+ * {@link HashedTimingWheel} when it expires, so codes that are never verified do not accumulate; expiry is
+ * also checked on every read. Attempts are counted with compare-and-set, so concurrent guesses cannot
+ * exceed the limit, and a code can be consumed only once.
+ */
+public final class InMemoryOtpStore implements OtpStore, AutoCloseable {
+
+    private final int capacity;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final HashedTimingWheel<Entry> wheel;
+
+    public InMemoryOtpStore(int capacity, Duration tick) {
+        this(capacity, tick, System::currentTimeMillis);
+    }
+
+    public InMemoryOtpStore(int capacity, Duration tick, LongSupplier clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.clock = clock;
+        this.wheel = new HashedTimingWheel<>("otp-expiry-wheel", tick, 512, entry -> remove(entry.email, entry));
+    }
+
+    /**
+     * Stores a code, replacing any earlier one for the email. Returns false, storing nothing, when the store
+     * is full and the email has no code yet.
+     */
+    @Override
+    public boolean put(String email, String code, long expiresAtMillis) {
+        Entry entry = new Entry(email, code, expiresAtMillis);
+        boolean[] stored = new boolean[1];
+        entries.compute(email, (key, previous) -> {
+            if (previous == null) {
+                if (size.get() >= capacity) {
+                    return null;
+                }
+                size.incrementAndGet();
+            } else {
+                previous.cancelExpiry();
+            }
+            stored[0] = true;
+            return entry;
+        });
+        if (stored[0]) {
+            entry.timeout = wheel.schedule(entry, Duration.ofMillis(Math.max(0L, expiresAtMillis - clock.getAsLong())));
+        }
+        return stored[0];
+    }
+
+    /**
+     * Counts one attempt and checks the code. A correct code, an expired one and the attempt over the limit
+     * all remove the entry.
+     */
+    @Override
+    public Result verify(String email, String code, int maxAttempts) {
+        Entry entry = entries.get(email);
+        if (entry == null) {
+            return Result.NOT_FOUND;
+        }
+        if (clock.getAsLong() >= entry.expiresAtMillis) {
+            remove(email, entry);
+            return Result.EXPIRED;
+        }
+        int attempts;
+        do {
+            attempts = entry.attempts.get();
+            if (attempts >= maxAttempts) {
+                remove(email, entry);
+                return Result.TOO_MANY_ATTEMPTS;
+            }
+        } while (!entry.attempts.compareAndSet(attempts, attempts + 1));
+
+        if (code == null || !MessageDigest.isEqual(entry.code.getBytes(StandardCharsets.UTF_8),
+                code.getBytes(StandardCharsets.UTF_8))) {
+            return Result.INVALID;
+        }
+        // Only the caller that removes the entry gets to use it
+        return remove(email, entry) ? Result.VERIFIED : Result.NOT_FOUND;
+    }
+
+    @Override
+    public int attempts(String email) {
+        Entry entry = entries.get(email);
+        return entry == null || clock.getAsLong() >= entry.expiresAtMillis ? -1 : entry.attempts.get();
+    }
+
+    @Override
+    public boolean isExpired(String email) {
+        Entry entry = entries.get(email);
+        return entry == null || clock.getAsLong() >= entry.expiresAtMillis;
+    }
+
+    @Override
+    public void remove(String email) {
+        Entry entry = entries.get(email);
+        if (entry != null) {
+            remove(email, entry);
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public void close() {
+        wheel.close();
+    }
+
+    private boolean remove(String email, Entry entry) {
+        if (entries.remove(email, entry)) {
+            size.decrementAndGet();
+            entry.cancelExpiry();
+            return true;
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        private final String email;
+        private final String code;
+        private final long expiresAtMillis;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile HashedTimingWheel.Timeout<Entry> timeout;
+
+        private Entry(String email, String code, long expiresAtMillis) {
+            this.email = email;
+            this.code = code;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private void cancelExpiry() {
+            HashedTimingWheel.Timeout<Entry> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
+        }
+    }
+}
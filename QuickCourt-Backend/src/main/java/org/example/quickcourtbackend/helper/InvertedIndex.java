@@ -0,0 +1,288 @@
+package org.example.quickcourtbackend.helper;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Weighted term index for short documents such as names and addresses. Terms live in a sorted
+ * dictionary, so the last query word can be completed as a prefix with one range lookup; earlier words
+ * must match whole terms. Hits are ranked by field weight times inverse document frequency.
+ */
+public final class InvertedIndex {
+
+    // Caps how many dictionary terms one prefix may expand to, so a one-letter prefix stays cheap to score
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final float PREFIX_MATCH_FACTOR = 0.8f;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> documentTerms = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Replaces the document's terms. A term occurring in several fields keeps the sum of their weights.
+     */
+    public void put(String documentId, List<Field> fields) {
+        Map<String, Float> weights = new HashMap<>();
+        for (Field field : fields) {
+            for (String term : tokenize(field.text())) {
+                weights.merge(term, field.weight(), Float::sum);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(documentId, weight));
+            documentTerms.put(documentId, weights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String documentId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents containing every query word, with the last word also matching as a prefix, best first.
+     * Ties are ordered by document id. The most selective word is scored first and the others are only
+     * looked up for its candidates.
+     */
+    public List<Hit> search(String query, int limit, Predicate<String> filter) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int documents = documentTerms.size();
+            List<List<Match>> matches = new ArrayList<>(words.size());
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                List<Match> wordMatches = new ArrayList<>();
+                if (i == words.size() - 1) {
+                    for (Map.Entry<String, Map<String, Float>> entry : expansions(word)) {
+                        float factor = entry.getKey().equals(word) ? 1f : PREFIX_MATCH_FACTOR;
+                        wordMatches.add(new Match(entry.getValue(), idf(documents, entry.getValue()) * factor));
+                    }
+                } else {
+                    Map<String, Float> postingList = postings.get(word);
+                    if (postingList != null) {
+                        wordMatches.add(new Match(postingList, idf(documents, postingList)));
+                    }
+                }
+                if (wordMatches.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(wordMatches);
+            }
+            matches.sort(Comparator.comparingInt(InvertedIndex::postingCount));
+
+            Map<String, Float> scores = new HashMap<>();
+            // A document matching several expansions of the prefix counts its best one
+            for (Match match : matches.get(0)) {
+                match.postings().forEach((documentId, weight) -> scores.merge(documentId, weight * match.factor(), Math::max));
+            }
+            for (int i = 1; i < matches.size() && !scores.isEmpty(); i++) {
+                Map<String, Float> wordScores = bestPerCandidate(scores, matches.get(i));
+                scores.entrySet().removeIf(entry -> {
+                    Float best = wordScores.get(entry.getKey());
+                    if (best == null) {
+                        return true;
+                    }
+                    entry.setValue(entry.getValue() + best);
+                    return false;
+                });
+            }
+            return top(scores, limit, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Dictionary terms starting with the prefix, most widespread first.
+     */
+    public List<String> complete(String prefix, int limit) {
+        List<String> words = tokenize(prefix);
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return expansions(words.get(words.size() - 1)).stream()
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased, accent-free words of letters and digits.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Up to MAX_PREFIX_EXPANSIONS terms starting with the prefix, in most documents first, so a cut drops the
+     * rarest terms rather than the alphabetically last ones. The prefix itself is always kept when it is a term.
+     */
+    private List<Map.Entry<String, Map<String, Float>>> expansions(String prefix) {
+        Comparator<Map.Entry<String, Map<String, Float>>> widestFirst =
+                Comparator.<Map.Entry<String, Map<String, Float>>>comparingInt(entry -> entry.getValue().size())
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey);
+        NavigableMap<String, Map<String, Float>> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        List<Map.Entry<String, Map<String, Float>>> terms = new ArrayList<>();
+        Map<String, Float> exact = range.get(prefix);
+        if (exact != null) {
+            terms.add(Map.entry(prefix, exact));
+            range = range.tailMap(prefix, false);
+        }
+        // Bounded heap with the narrowest kept term on top
+        PriorityQueue<Map.Entry<String, Map<String, Float>>> widest =
+                new PriorityQueue<>(MAX_PREFIX_EXPANSIONS + 1, widestFirst.reversed());
+        for (Map.Entry<String, Map<String, Float>> entry : range.entrySet()) {
+            widest.add(entry);
+            if (widest.size() > MAX_PREFIX_EXPANSIONS - terms.size()) {
+                widest.poll();
+            }
+        }
+        terms.addAll(widest);
+        terms.sort(widestFirst);
+        return terms;
+    }
+
+    private static float idf(int documents, Map<String, Float> postingList) {
+        return (float) Math.log(1 + (double) documents / Math.max(1, postingList.size()));
+    }
+
+    private static int postingCount(List<Match> matches) {
+        int count = 0;
+        for (Match match : matches) {
+            count += match.postings().size();
+        }
+        return count;
+    }
+
+    /**
+     * Best score of one word for each candidate that contains it. Probes the posting lists per candidate or
+     * walks them once, whichever touches fewer entries.
+     */
+    private static Map<String, Float> bestPerCandidate(Map<String, Float> candidates, List<Match> wordMatches) {
+        Map<String, Float> best = new HashMap<>();
+        if ((long) candidates.size() * wordMatches.size() <= postingCount(wordMatches)) {
+            for (String documentId : candidates.keySet()) {
+                for (Match match : wordMatches) {
+                    Float weight = match.postings().get(documentId);
+                    if (weight != null) {
+                        best.merge(documentId, weight * match.factor(), Math::max);
+                    }
+                }
+            }
+        } else {
+            for (Match match : wordMatches) {
+                match.postings().forEach((documentId, weight) -> {
+                    if (candidates.containsKey(documentId)) {
+                        best.merge(documentId, weight * match.factor(), Math::max);
+                    }
+                });
+            }
+        }
+        return best;
+    }
+
+    // Bounded min-heap, so ranking costs O(n log limit) rather than sorting every candidate
+    private static List<Hit> top(Map<String, Float> scores, int limit, Predicate<String> filter) {
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::documentId);
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        scores.forEach((documentId, score) -> {
+            if (filter.test(documentId)) {
+                best.add(new Hit(documentId, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        });
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(ranking);
+        return hits;
+    }
+
+    private void removeLocked(String documentId) {
+        Set<String> terms = documentTerms.remove(documentId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<String, Float> postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(documentId);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    public record Field(String text, float weight) {
+    }
+
+    private record Match(Map<String, Float> postings, float factor) {
+    }
+
+    public record Hit(String documentId, float score) {
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.quickcourtbackend.helper;
+
+/**
+ * Where one-time codes live between sending and verification. {@link InMemoryOtpStore} is local to one node;
+ * a shared implementation lets a code sent by one node be verified on any other.
+ */
+public interface OtpStore {
+
+    /**
+     * Stores a code, replacing any earlier one for the email and resetting its attempts. Returns false when
+     * the code could not be stored.
+     */
+    boolean put(String email, String code, long expiresAtMillis);
+
+    /**
+     * Counts one attempt and checks the code. A correct code can be consumed only once.
+     */
+    Result verify(String email, String code, int maxAttempts);
+
+    /**
+     * Attempts used so far on the email's live code, or -1 when there is none.
+     */
+    int attempts(String email);
+
+    boolean isExpired(String email);
+
+    void remove(String email);
+
+    enum Result {
+        VERIFIED, INVALID, EXPIRED, TOO_MANY_ATTEMPTS, NOT_FOUND
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.quickcourtbackend.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position after the last review of a page in newest-first (createdAt, id) order, passed to clients as an
+ * opaque URL-safe token.
+ */
+public record ReviewCursor(Date createdAt, String id) {
+
+    public String encode() {
+        String raw = createdAt.getTime() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReviewCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new ReviewCursor(new Date(Long.parseLong(parts[0])), parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
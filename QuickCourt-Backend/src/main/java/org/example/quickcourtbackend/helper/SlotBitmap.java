@@ -0,0 +1,139 @@
+package org.example.quickcourtbackend.helper;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Occupancy of a single court for a single day, one bit per 15-minute slot.
+ * 96 slots fit in two longs, so overlap checks and merges are a couple of word operations.
+ */
+public record SlotBitmap(long low, long high) {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final SlotBitmap EMPTY = new SlotBitmap(0L, 0L);
+    public static final SlotBitmap FULL_DAY = range(0, SLOTS_PER_DAY);
+
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+
+    /**
+     * Slots covered by [start, end). The start is rounded down and the end rounded up to the slot grid,
+     * and an end of midnight means the end of the day.
+     */
+    public static SlotBitmap of(LocalTime start, LocalTime end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start time and end time are required");
+        }
+        int from = start.toSecondOfDay() / SLOT_SECONDS;
+        int endSeconds = end.equals(LocalTime.MIDNIGHT) ? 24 * 3600 : end.toSecondOfDay();
+        int to = (endSeconds + SLOT_SECONDS - 1) / SLOT_SECONDS;
+        if (to <= from) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        return range(from, to);
+    }
+
+    /**
+     * Whole slots inside [start, end): the start is rounded up and the end rounded down, so opening hours
+     * never admit time outside them. Empty when no whole slot fits; an end of midnight means the end of the day.
+     */
+    public static SlotBitmap within(LocalTime start, LocalTime end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start time and end time are required");
+        }
+        int startSeconds = start.toSecondOfDay();
+        int endSeconds = end.equals(LocalTime.MIDNIGHT) ? 24 * 3600 : end.toSecondOfDay();
+        if (endSeconds <= startSeconds) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        int from = (startSeconds + SLOT_SECONDS - 1) / SLOT_SECONDS;
+        int to = endSeconds / SLOT_SECONDS;
+        return to > from ? range(from, to) : EMPTY;
+    }
+
+    /**
+     * Slots [from, to) by slot index.
+     */
+    public static SlotBitmap range(int from, int to) {
+        return new SlotBitmap(wordBits(from, to, 0), wordBits(from, to, 64));
+    }
+
+    public static LocalTime slotStart(int slot) {
+        return LocalTime.MIDNIGHT.plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    public boolean intersects(SlotBitmap other) {
+        return ((low & other.low) | (high & other.high)) != 0;
+    }
+
+    public SlotBitmap or(SlotBitmap other) {
+        return new SlotBitmap(low | other.low, high | other.high);
+    }
+
+    public SlotBitmap andNot(SlotBitmap other) {
+        return new SlotBitmap(low & ~other.low, high & ~other.high);
+    }
+
+    public boolean isEmpty() {
+        return (low | high) == 0;
+    }
+
+    public boolean isSet(int slot) {
+        return slot < 64 ? (low & (1L << slot)) != 0 : (high & (1L << (slot - 64))) != 0;
+    }
+
+    public int cardinality() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    /**
+     * Maximal runs of free slots as {from, to} slot index pairs, in order.
+     */
+    public List<int[]> freeRuns() {
+        List<int[]> runs = new ArrayList<>();
+        int slot = nextClear(0);
+        while (slot < SLOTS_PER_DAY) {
+            int end = nextSet(slot);
+            runs.add(new int[]{slot, end});
+            slot = nextClear(end);
+        }
+        return runs;
+    }
+
+    private int nextSet(int from) {
+        return nextMatching(from, low, high);
+    }
+
+    private int nextClear(int from) {
+        return nextMatching(from, ~low, ~high);
+    }
+
+    private static int nextMatching(int from, long lowWord, long highWord) {
+        if (from < 64) {
+            long masked = lowWord & (-1L << from);
+            if (masked != 0) {
+                return Long.numberOfTrailingZeros(masked);
+            }
+            from = 64;
+        }
+        if (from < SLOTS_PER_DAY) {
+            long masked = highWord & (-1L << (from - 64)) & wordBits(0, SLOTS_PER_DAY, 64);
+            if (masked != 0) {
+                return 64 + Long.numberOfTrailingZeros(masked);
+            }
+        }
+        return SLOTS_PER_DAY;
+    }
+
+    private static long wordBits(int from, int to, int offset) {
+        int lo = Math.max(from - offset, 0);
+        int hi = Math.min(to - offset, 64);
+        if (lo >= hi) {
+            return 0L;
+        }
+        long upper = hi == 64 ? -1L : (1L << hi) - 1;
+        long lower = (1L << lo) - 1;
+        return upper & ~lower;
+    }
+}
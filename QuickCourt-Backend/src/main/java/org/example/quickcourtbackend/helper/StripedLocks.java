@@ -0,0 +1,43 @@
+package org.example.quickcourtbackend.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks addressed by hash, so unrelated keys rarely contend and memory stays constant.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks for all given hashes, de-duplicated and in stripe order so callers never deadlock each other.
+     */
+    public List<ReentrantLock> locksFor(int... hashes) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (int hash : hashes) {
+            stripes.add(spread(hash) & mask);
+        }
+        List<ReentrantLock> result = new ArrayList<>(stripes.size());
+        for (int stripe : stripes) {
+            result.add(locks[stripe]);
+        }
+        return result;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
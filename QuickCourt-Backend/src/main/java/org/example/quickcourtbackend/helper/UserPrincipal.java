@@ -1,5 +1,6 @@
 package org.example.quickcourtbackend.helper;
 
+import org.example.quickcourtbackend.enums.UserRole;
 import org.example.quickcourtbackend.models.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -9,18 +10,43 @@ import java.util.Collection;
 import java.util.List;
 
 public class UserPrincipal implements UserDetails {
-    private final User user;
+    private final String id;
+    private final String email;
+    private final String password;
+    private final UserRole role;
 
     public UserPrincipal(User user) {
-       this.user = user;
+       this(user.getId(), user.getEmail(), user.getPassword(), user.getRole());
+    }
+
+    /**
+     * Principal rebuilt from verified token claims; it never carries a password.
+     */
+    public UserPrincipal(String id, String email, UserRole role) {
+        this(id, email, null, role);
+    }
+
+    private UserPrincipal(String id, String email, String password, UserRole role) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public UserRole getRole() {
+        return role;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         // Return authorities based on user role
         try {
-            if (user.getRole() != null) {
-                String roleStr = user.getRole().toString();
+            if (role != null) {
+                String roleStr = role.toString();
                 if (!roleStr.trim().isEmpty()) {
                     return List.of(new SimpleGrantedAuthority("ROLE_" + roleStr.toUpperCase()));
                 }
@@ -33,12 +59,12 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
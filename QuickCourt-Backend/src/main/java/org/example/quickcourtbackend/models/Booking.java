@@ -7,12 +7,22 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.example.quickcourtbackend.enums.BookingStatus;
 import org.example.quickcourtbackend.enums.PaymentStatus;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_booking_date_start", columnList = "date, start_time, id"),
+        @Index(name = "idx_booking_user_date_start", columnList = "user_id, date, start_time, id"),
+        @Index(name = "idx_booking_court_date_start", columnList = "court_id, date, start_time, id"),
+        @Index(name = "idx_booking_status_date_start", columnList = "status, date, start_time, id"),
+        @Index(name = "idx_booking_updated_at", columnList = "updated_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -42,11 +52,16 @@ public class Booking extends BaseModel {
     @Column(nullable = false)
     private Integer duration;
 
+    // varchar rather than a native MySQL enum, so adding a status needs no ALTER; see StatusColumnMigration
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 32)
     private BookingStatus status;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PaymentStatus paymentStatus;
+
+    // Set while status is HELD
+    private Instant holdExpiresAt;
 }
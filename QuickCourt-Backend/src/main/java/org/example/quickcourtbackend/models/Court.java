@@ -49,4 +49,12 @@ public class Court extends BaseModel {
 
     @OneToMany(mappedBy = "court", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Match> matches;
+
+    @JsonIgnore
+    @OneToMany(mappedBy = "court", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<ScheduleRule> scheduleRules;
+
+    @JsonIgnore
+    @OneToMany(mappedBy = "court", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<ScheduleException> scheduleExceptions;
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.quickcourtbackend.dtos.FacilityRatingDto;
 import org.example.quickcourtbackend.enums.VerificationStatus;
 
 import java.util.List;
@@ -48,4 +49,8 @@ public class Facility extends BaseModel {
 
     @OneToMany(mappedBy = "facility", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Review> reviews;
+
+    // Filled from FacilityRating by FacilityService on reads
+    @Transient
+    private FacilityRatingDto rating;
 }
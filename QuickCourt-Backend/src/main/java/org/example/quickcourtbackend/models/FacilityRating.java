@@ -0,0 +1,42 @@
+package org.example.quickcourtbackend.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running review totals of one facility, changed by deltas in the same transaction as the review
+ * itself so an average never needs the review rows.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_facility_rating_facility", columnNames = "facility_id"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class FacilityRating extends BaseModel {
+
+    @Column(name = "facility_id", length = 36, nullable = false)
+    private String facilityId;
+
+    @Column(nullable = false)
+    private long reviewCount;
+
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long stars1;
+
+    @Column(nullable = false)
+    private long stars2;
+
+    @Column(nullable = false)
+    private long stars3;
+
+    @Column(nullable = false)
+    private long stars4;
+
+    @Column(nullable = false)
+    private long stars5;
+}
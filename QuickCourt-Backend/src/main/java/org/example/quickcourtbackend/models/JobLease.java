@@ -0,0 +1,27 @@
+package org.example.quickcourtbackend.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Cluster-wide lock for a background job: whichever node holds an unexpired lease runs the job.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_job_lease_name", columnNames = "name"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class JobLease extends BaseModel {
+
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    @Column(length = 64)
+    private String owner;
+
+    // Epoch millis; 0 when released
+    @Column(name = "leased_until", nullable = false)
+    private Long leasedUntil;
+}
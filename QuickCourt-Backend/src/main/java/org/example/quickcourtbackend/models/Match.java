@@ -6,11 +6,16 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.example.quickcourtbackend.enums.MatchStatus;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        @Index(name = "idx_match_status_date_start", columnList = "status, date, start_time, id"),
+        @Index(name = "idx_match_updated_at", columnList = "updated_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -40,10 +45,13 @@ public class Match extends BaseModel {
     @Column(nullable = false)
     private Integer maxPlayers;
 
-    @Column(nullable = false)
+    // Only moved by the conditional updates in MatchRepository, so saving a stale entity cannot undo a join
+    @Column(nullable = false, updatable = false)
     private Integer currentPlayers;
 
+    // varchar rather than a native MySQL enum, so adding a status needs no ALTER; see StatusColumnMigration
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 32)
     private MatchStatus status;
 }
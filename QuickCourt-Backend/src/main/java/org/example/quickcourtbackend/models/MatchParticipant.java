@@ -0,0 +1,25 @@
+package org.example.quickcourtbackend.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A player in a match, the creator included. One row per (match, user); the unique key is what keeps a
+ * user from taking two places when the same join request arrives twice.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_match_participant", columnNames = {"match_id", "user_id"}),
+        indexes = @Index(name = "idx_match_participant_user", columnList = "user_id"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class MatchParticipant extends BaseModel {
+
+    @Column(name = "match_id", length = 36, nullable = false)
+    private String matchId;
+
+    @Column(name = "user_id", length = 36, nullable = false)
+    private String userId;
+}
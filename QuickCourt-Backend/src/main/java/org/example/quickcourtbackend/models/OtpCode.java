@@ -0,0 +1,33 @@
+package org.example.quickcourtbackend.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A pending one-time code, shared by every node. Only a keyed hash of the code is stored.
+ */
+@Entity
+@Table(name = "otp_codes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_otp_code_email", columnNames = "email"),
+        indexes = @Index(name = "idx_otp_code_expires", columnList = "expires_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class OtpCode extends BaseModel {
+
+    @Column(nullable = false)
+    private String email;
+
+    // Base64 HMAC-SHA-256 of email and code
+    @Column(name = "code_hash", nullable = false, length = 44)
+    private String codeHash;
+
+    // Epoch millis
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    @Column(nullable = false)
+    private Integer attempts;
+}
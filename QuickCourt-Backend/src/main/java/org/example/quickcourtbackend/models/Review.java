@@ -4,11 +4,17 @@ package org.example.quickcourtbackend.models;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.*;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_review_facility_created", columnList = "facility_id, created_at, id"),
+        @Index(name = "idx_review_facility_rating_created", columnList = "facility_id, rating, created_at, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -0,0 +1,34 @@
+package org.example.quickcourtbackend.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A refresh token that has been used or revoked, or a whole rotation family revoked at once. Only the id
+ * and expiry are kept; rows are purged once the token could no longer be presented anyway.
+ */
+@Entity
+@Table(name = "revoked_refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_revoked_refresh_token", columnNames = "token_id"),
+        indexes = {
+                @Index(name = "idx_revoked_refresh_created", columnList = "created_at"),
+                @Index(name = "idx_revoked_refresh_expires", columnList = "expires_at")
+        })
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class RevokedRefreshToken extends BaseModel {
+
+    // Token id (jti) or family id; both are UUIDs, so they share one key space
+    @Column(name = "token_id", nullable = false, length = 36)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private boolean family;
+
+    // Epoch millis after which the token or family can no longer be presented
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+}
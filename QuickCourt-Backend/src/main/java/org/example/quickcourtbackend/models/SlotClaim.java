@@ -0,0 +1,39 @@
+package org.example.quickcourtbackend.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * One row per claimed 15-minute slot. The unique key makes the database reject a second
+ * reservation of the same slot no matter which node admitted it. Claims on past days are purged by
+ * {@code StateTransitionJob}.
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_slot_claim_court_date_slot", columnNames = {"court_id", "date", "slot"}),
+        indexes = {
+                @Index(name = "idx_slot_claim_reservation", columnList = "reservation_id"),
+                @Index(name = "idx_slot_claim_date", columnList = "date")
+        }
+)
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class SlotClaim extends BaseModel {
+
+    @Column(name = "court_id", length = 36, nullable = false)
+    private String courtId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Integer slot;
+
+    @Column(name = "reservation_id", length = 36, nullable = false)
+    private String reservationId;
+}
@@ -1,5 +1,6 @@
 package org.example.quickcourtbackend.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.example.quickcourtbackend.enums.UserRole;
@@ -36,6 +37,11 @@ public class User extends BaseModel {
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
+    // Issued tokens carry this; bumping it revokes every token issued before a role or email change
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int tokenVersion;
+
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Facility> ownedFacilities;
 
@@ -0,0 +1,56 @@
+package org.example.quickcourtbackend.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.quickcourtbackend.enums.WaitlistStatus;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A user queued for a court time that was taken when they asked. Waiters for a (court, date) are
+ * served in {@code queuedAt} order; the row is kept after promotion to point at the hold it became.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_waitlist_status_date", columnList = "status, date, queued_at"),
+        @Index(name = "idx_waitlist_court_queue", columnList = "court_id, date, status, queued_at")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class WaitlistEntry extends BaseModel {
+
+    @Column(name = "court_id", length = 36, nullable = false)
+    private String courtId;
+
+    @Column(name = "user_id", length = 36, nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    // Epoch millis; createdAt is only second-precise on MySQL
+    @Column(name = "queued_at", nullable = false)
+    private Long queuedAt;
+
+    // varchar rather than a native MySQL enum, so adding a status needs no ALTER; see StatusColumnMigration
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 32)
+    private WaitlistStatus status;
+
+    // Set once the entry has been promoted to a hold
+    @Column(name = "booking_id", length = 36)
+    private String bookingId;
+}
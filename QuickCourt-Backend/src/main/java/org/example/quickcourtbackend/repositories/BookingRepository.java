@@ -1,14 +1,160 @@
 package org.example.quickcourtbackend.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.example.quickcourtbackend.dtos.BookingExportProjection;
+import org.example.quickcourtbackend.dtos.BookingSummaryProjection;
+import org.example.quickcourtbackend.dtos.CourtCountProjection;
+import org.example.quickcourtbackend.dtos.CourtDayProjection;
+import org.example.quickcourtbackend.dtos.SlotOccupancyProjection;
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.PaymentStatus;
 import org.example.quickcourtbackend.models.Booking;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking ,String> {
 
      List<Booking> findByUserId(String userId);
      List<Booking> findByCourtId(String courtId);
+     List<Booking> findByStatus(BookingStatus status);
+
+     @Modifying
+     @Query("update Booking b set b.status = :status, b.paymentStatus = :paymentStatus, b.holdExpiresAt = null, " +
+             "b.updatedAt = CURRENT_TIMESTAMP " +
+             "where b.id = :id and b.status = org.example.quickcourtbackend.enums.BookingStatus.HELD and b.holdExpiresAt > :now")
+     int confirmHold(@Param("id") String id,
+                     @Param("status") BookingStatus status,
+                     @Param("paymentStatus") PaymentStatus paymentStatus,
+                     @Param("now") Instant now);
+
+     @Modifying
+     @Query("update Booking b set b.status = org.example.quickcourtbackend.enums.BookingStatus.CANCELLED, " +
+             "b.holdExpiresAt = null, b.updatedAt = CURRENT_TIMESTAMP " +
+             "where b.id = :id and b.status = org.example.quickcourtbackend.enums.BookingStatus.HELD " +
+             "and (b.holdExpiresAt is null or b.holdExpiresAt <= :now)")
+     int expireHold(@Param("id") String id, @Param("now") Instant now);
+
+     @Query("select b.court.id as courtId, b.date as date, b.startTime as startTime, b.endTime as endTime " +
+             "from Booking b where b.date >= :from and b.status <> :excluded")
+     List<SlotOccupancyProjection> findOccupancyFrom(@Param("from") LocalDate from,
+                                                     @Param("excluded") BookingStatus excluded);
+
+     @Query("select b.court.id as courtId, b.date as date, b.startTime as startTime, b.endTime as endTime " +
+             "from Booking b where b.court.id = :courtId and b.date = :date and b.status <> :excluded")
+     List<SlotOccupancyProjection> findOccupancy(@Param("courtId") String courtId,
+                                                 @Param("date") LocalDate date,
+                                                 @Param("excluded") BookingStatus excluded);
+
+     @Query("select b.court.id as courtId, b.date as date, b.startTime as startTime, b.endTime as endTime " +
+             "from Booking b where b.court.id in :courtIds and b.date >= :from and b.status <> :excluded")
+     List<SlotOccupancyProjection> findOccupancyOfCourtsFrom(@Param("courtIds") Collection<String> courtIds,
+                                                             @Param("from") LocalDate from,
+                                                             @Param("excluded") BookingStatus excluded);
+
+     @Query("select distinct b.court.id as courtId, b.date as date from Booking b " +
+             "where b.updatedAt >= :since and b.date >= :from")
+     List<CourtDayProjection> findCourtDaysUpdatedSince(@Param("since") Date since, @Param("from") LocalDate from);
+
+     /**
+      * One keyset page in (date, startTime, id) order. Null filters are ignored; a null {@code afterDate}
+      * starts from the first row.
+      */
+     @Query("select b.id as id, b.user.id as userId, c.id as courtId, c.facility.id as facilityId, " +
+             "b.date as date, b.startTime as startTime, b.endTime as endTime, b.duration as duration, " +
+             "b.status as status, b.paymentStatus as paymentStatus, b.createdAt as createdAt " +
+             "from Booking b join b.court c " +
+             "where (:userId is null or b.user.id = :userId) " +
+             "and (:courtId is null or c.id = :courtId) " +
+             "and (:facilityId is null or c.facility.id = :facilityId) " +
+             "and (:status is null or b.status = :status) " +
+             "and (:fromDate is null or b.date >= :fromDate) " +
+             "and (:toDate is null or b.date <= :toDate) " +
+             "and (:afterDate is null or b.date > :afterDate or (b.date = :afterDate and " +
+             "(b.startTime > :afterTime or (b.startTime = :afterTime and b.id > :afterId)))) " +
+             "order by b.date, b.startTime, b.id")
+     List<BookingSummaryProjection> findPage(@Param("userId") String userId,
+                                             @Param("courtId") String courtId,
+                                             @Param("facilityId") String facilityId,
+                                             @Param("status") BookingStatus status,
+                                             @Param("fromDate") LocalDate fromDate,
+                                             @Param("toDate") LocalDate toDate,
+                                             @Param("afterDate") LocalDate afterDate,
+                                             @Param("afterTime") LocalTime afterTime,
+                                             @Param("afterId") String afterId,
+                                             Limit limit);
+
+     /**
+      * Rows for an export, read through a forward-only cursor. A fetch size of Integer.MIN_VALUE makes MySQL
+      * Connector/J stream rows instead of buffering the whole result; the caller must hold a transaction and
+      * close the stream.
+      */
+     @QueryHints({
+             @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+             @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+     })
+     @Query("select b.id as id, b.user.id as userId, c.id as courtId, c.facility.id as facilityId, " +
+             "b.date as date, b.startTime as startTime, b.endTime as endTime, b.duration as duration, " +
+             "b.status as status, b.paymentStatus as paymentStatus, b.createdAt as createdAt, " +
+             "c.name as courtName, c.facility.name as facilityName, c.pricePerHour as pricePerHour " +
+             "from Booking b join b.court c " +
+             "where b.date >= :fromDate and b.date <= :toDate " +
+             "and (:userId is null or b.user.id = :userId) " +
+             "and (:courtId is null or c.id = :courtId) " +
+             "and (:facilityId is null or c.facility.id = :facilityId) " +
+             "and (:status is null or b.status = :status) " +
+             "order by b.date, b.startTime, b.id")
+     Stream<BookingExportProjection> streamForExport(@Param("userId") String userId,
+                                                     @Param("courtId") String courtId,
+                                                     @Param("facilityId") String facilityId,
+                                                     @Param("status") BookingStatus status,
+                                                     @Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate);
+
+     @Query("select b.court.id as courtId, count(b) as total from Booking b " +
+             "where b.court.id in :courtIds group by b.court.id")
+     List<CourtCountProjection> countByCourtIds(@Param("courtIds") Collection<String> courtIds);
+
+     /**
+      * Up to {@code limit} bookings in {@code status} whose end time has passed, oldest first; served by
+      * idx_booking_status_date_start. An end of {@code midnight} means the end of the booking's day.
+      */
+     @Query("select b.id from Booking b where b.status = :status " +
+             "and (b.date < :today or (b.date = :today and b.endTime <= :now and b.endTime <> :midnight)) " +
+             "order by b.date, b.startTime, b.id")
+     List<String> findEndedIds(@Param("status") BookingStatus status,
+                               @Param("today") LocalDate today,
+                               @Param("now") LocalTime now,
+                               @Param("midnight") LocalTime midnight,
+                               Limit limit);
+
+     @Modifying
+     @Query("update Booking b set b.status = :to, b.updatedAt = CURRENT_TIMESTAMP " +
+             "where b.id in :ids and b.status = :from and b.paymentStatus = :paymentStatus")
+     int transitionPaid(@Param("ids") Collection<String> ids,
+                        @Param("from") BookingStatus from,
+                        @Param("to") BookingStatus to,
+                        @Param("paymentStatus") PaymentStatus paymentStatus);
+
+     @Modifying
+     @Query("update Booking b set b.status = :to, b.updatedAt = CURRENT_TIMESTAMP " +
+             "where b.id in :ids and b.status = :from and (b.paymentStatus is null or b.paymentStatus <> :paymentStatus)")
+     int transitionUnpaid(@Param("ids") Collection<String> ids,
+                          @Param("from") BookingStatus from,
+                          @Param("to") BookingStatus to,
+                          @Param("paymentStatus") PaymentStatus paymentStatus);
 }
@@ -1,11 +1,37 @@
 package org.example.quickcourtbackend.repositories;
 
+import org.example.quickcourtbackend.dtos.CourtCatalogProjection;
+import org.example.quickcourtbackend.dtos.CourtChildIdProjection;
+import org.example.quickcourtbackend.dtos.CourtSummaryProjection;
 import org.example.quickcourtbackend.models.Court;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CourtRepository extends JpaRepository<Court , String> {
 
+    @Query("select c.id as id, c.name as name, c.sportType as sportType, c.pricePerHour as pricePerHour, " +
+            "c.photoUrl as photoUrl, f.id as facilityId, f.name as facilityName, f.city as city " +
+            "from Court c join c.facility f")
+    List<CourtCatalogProjection> findCatalog();
+
+    @Query("select c.id as id, c.facility.id as facilityId, c.name as name, c.sportType as sportType, " +
+            "c.pricePerHour as pricePerHour, c.operatingHours as operatingHours, c.photoUrl as photoUrl " +
+            "from Court c where (:afterId is null or c.id > :afterId) order by c.id")
+    List<CourtSummaryProjection> findSummaries(@Param("afterId") String afterId, Limit limit);
+
+    @Query("select c.id as id, c.facility.id as facilityId, c.name as name, c.sportType as sportType, " +
+            "c.pricePerHour as pricePerHour, c.operatingHours as operatingHours, c.photoUrl as photoUrl " +
+            "from Court c where c.id = :id")
+    Optional<CourtSummaryProjection> findSummaryById(@Param("id") String id);
 
+    @Query("select a.court.id as courtId, a.id as id from Availability a where a.court.id in :courtIds")
+    List<CourtChildIdProjection> findAvailabilityIds(@Param("courtIds") Collection<String> courtIds);
 }
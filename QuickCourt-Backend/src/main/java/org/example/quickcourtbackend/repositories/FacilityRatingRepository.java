@@ -0,0 +1,59 @@
+package org.example.quickcourtbackend.repositories;
+
+import org.example.quickcourtbackend.models.FacilityRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FacilityRatingRepository extends JpaRepository<FacilityRating, String> {
+
+    Optional<FacilityRating> findByFacilityId(String facilityId);
+
+    List<FacilityRating> findByFacilityIdIn(Collection<String> facilityIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update FacilityRating r set r.reviewCount = r.reviewCount + :countDelta, " +
+            "r.ratingSum = r.ratingSum + :sumDelta, " +
+            "r.stars1 = r.stars1 + :stars1, r.stars2 = r.stars2 + :stars2, r.stars3 = r.stars3 + :stars3, " +
+            "r.stars4 = r.stars4 + :stars4, r.stars5 = r.stars5 + :stars5, r.updatedAt = CURRENT_TIMESTAMP " +
+            "where r.facilityId = :facilityId")
+    int applyDelta(@Param("facilityId") String facilityId,
+                   @Param("countDelta") long countDelta,
+                   @Param("sumDelta") long sumDelta,
+                   @Param("stars1") long stars1,
+                   @Param("stars2") long stars2,
+                   @Param("stars3") long stars3,
+                   @Param("stars4") long stars4,
+                   @Param("stars5") long stars5);
+
+    /**
+     * Creates the aggregate unless one exists. Returns 0 when another transaction created it first, waiting
+     * for that transaction if it has not committed yet; unlike a plain save, losing does not fail the caller's
+     * transaction.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert ignore into facility_rating (id, facility_id, review_count, rating_sum, " +
+            "stars1, stars2, stars3, stars4, stars5, created_at, updated_at) " +
+            "values (:id, :facilityId, :reviewCount, :ratingSum, :stars1, :stars2, :stars3, :stars4, :stars5, " +
+            "current_timestamp(6), current_timestamp(6))", nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id,
+                       @Param("facilityId") String facilityId,
+                       @Param("reviewCount") long reviewCount,
+                       @Param("ratingSum") long ratingSum,
+                       @Param("stars1") long stars1,
+                       @Param("stars2") long stars2,
+                       @Param("stars3") long stars3,
+                       @Param("stars4") long stars4,
+                       @Param("stars5") long stars5);
+
+    @Query("select f.id from Facility f where not exists " +
+            "(select r.id from FacilityRating r where r.facilityId = f.id)")
+    List<String> findFacilityIdsWithoutRating();
+}
@@ -1,12 +1,25 @@
 package org.example.quickcourtbackend.repositories;
 
 
+import org.example.quickcourtbackend.dtos.FacilityLocationProjection;
+import org.example.quickcourtbackend.dtos.FacilitySearchProjection;
 import org.example.quickcourtbackend.models.Facility;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 
 @Repository
 public interface FacilityRepository extends JpaRepository<Facility, String> {
 
+    @Query("select f.id as id, f.name as name, f.address as address, f.city as city, " +
+            "f.latitude as latitude, f.longitude as longitude " +
+            "from Facility f where f.latitude is not null and f.longitude is not null")
+    List<FacilityLocationProjection> findLocations();
+
+    @Query("select f.id as id, f.name as name, f.description as description, f.city as city, f.address as address " +
+            "from Facility f")
+    List<FacilitySearchProjection> findSearchDocuments();
 }
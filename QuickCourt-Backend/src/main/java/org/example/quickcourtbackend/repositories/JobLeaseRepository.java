@@ -0,0 +1,29 @@
+package org.example.quickcourtbackend.repositories;
+
+import org.example.quickcourtbackend.models.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    boolean existsByName(String name);
+
+    /**
+     * Takes the lease if it has expired, or extends it if {@code owner} already holds it. Returns 1 on success.
+     */
+    @Modifying
+    @Query("update JobLease l set l.owner = :owner, l.leasedUntil = :until " +
+            "where l.name = :name and (l.leasedUntil < :now or l.owner = :owner)")
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") long now,
+                   @Param("until") long until);
+
+    @Modifying
+    @Query("update JobLease l set l.leasedUntil = 0 where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -0,0 +1,29 @@
+package org.example.quickcourtbackend.repositories;
+
+import org.example.quickcourtbackend.models.MatchParticipant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MatchParticipantRepository extends JpaRepository<MatchParticipant, String> {
+
+    boolean existsByMatchIdAndUserId(String matchId, String userId);
+
+    long countByMatchId(String matchId);
+
+    @Query("select p.userId from MatchParticipant p where p.matchId = :matchId order by p.createdAt, p.id")
+    List<String> findUserIdsByMatchId(@Param("matchId") String matchId);
+
+    @Modifying
+    @Query("delete from MatchParticipant p where p.matchId = :matchId and p.userId = :userId")
+    int deleteParticipant(@Param("matchId") String matchId, @Param("userId") String userId);
+
+    @Modifying
+    @Query("delete from MatchParticipant p where p.matchId = :matchId")
+    int deleteByMatch(@Param("matchId") String matchId);
+}
@@ -1,10 +1,125 @@
 package org.example.quickcourtbackend.repositories;
 
+import org.example.quickcourtbackend.dtos.CourtCountProjection;
+import org.example.quickcourtbackend.dtos.CourtDayProjection;
+import org.example.quickcourtbackend.dtos.OpenMatchProjection;
+import org.example.quickcourtbackend.dtos.SlotOccupancyProjection;
+import org.example.quickcourtbackend.enums.MatchStatus;
 import org.example.quickcourtbackend.models.Match;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface MatchRepository extends JpaRepository<Match, String> {
-    // Add custom queries if needed
+
+    @Query("select m.court.id as courtId, m.date as date, m.startTime as startTime, m.endTime as endTime " +
+            "from Match m where m.date >= :from and m.status <> :excluded")
+    List<SlotOccupancyProjection> findOccupancyFrom(@Param("from") LocalDate from,
+                                                    @Param("excluded") MatchStatus excluded);
+
+    @Query("select m.court.id as courtId, m.date as date, m.startTime as startTime, m.endTime as endTime " +
+            "from Match m where m.court.id = :courtId and m.date = :date and m.status <> :excluded")
+    List<SlotOccupancyProjection> findOccupancy(@Param("courtId") String courtId,
+                                                @Param("date") LocalDate date,
+                                                @Param("excluded") MatchStatus excluded);
+
+    @Query("select m.court.id as courtId, m.date as date, m.startTime as startTime, m.endTime as endTime " +
+            "from Match m where m.court.id in :courtIds and m.date >= :from and m.status <> :excluded")
+    List<SlotOccupancyProjection> findOccupancyOfCourtsFrom(@Param("courtIds") Collection<String> courtIds,
+                                                            @Param("from") LocalDate from,
+                                                            @Param("excluded") MatchStatus excluded);
+
+    @Query("select distinct m.court.id as courtId, m.date as date from Match m " +
+            "where m.updatedAt >= :since and m.date >= :from")
+    List<CourtDayProjection> findCourtDaysUpdatedSince(@Param("since") Date since, @Param("from") LocalDate from);
+
+    @Query("select m.id as id, m.court.id as courtId, m.date as date, m.startTime as startTime, " +
+            "m.endTime as endTime, m.maxPlayers as maxPlayers, m.currentPlayers as currentPlayers, " +
+            "m.status as status " +
+            "from Match m where m.status = :status and m.date >= :from")
+    List<OpenMatchProjection> findByStatusFrom(@Param("status") MatchStatus status, @Param("from") LocalDate from);
+
+    @Query("select m.id as id, m.court.id as courtId, m.date as date, m.startTime as startTime, " +
+            "m.endTime as endTime, m.maxPlayers as maxPlayers, m.currentPlayers as currentPlayers, " +
+            "m.status as status " +
+            "from Match m where m.id in :ids")
+    List<OpenMatchProjection> findIndexRowsByIds(@Param("ids") Collection<String> ids);
+
+    @Query("select m.id from Match m where m.updatedAt >= :since")
+    List<String> findIdsUpdatedSince(@Param("since") Date since);
+
+    @Query("select m.court.id as courtId, count(m) as total from Match m " +
+            "where m.court.id in :courtIds group by m.court.id")
+    List<CourtCountProjection> countByCourtIds(@Param("courtIds") Collection<String> courtIds);
+
+    /**
+     * Takes one place in an open match that has not started yet, flipping it to FULL on the last place.
+     * Returns 0 when there is no such match or no place left; concurrent joiners serialize on the row lock.
+     */
+    // Status is assigned first: MySQL applies SET clauses left to right and the case must see the old count
+    @Modifying
+    @Query("update Match m set m.status = case when m.currentPlayers + 1 >= m.maxPlayers then :full else m.status end, " +
+            "m.currentPlayers = m.currentPlayers + 1, m.updatedAt = CURRENT_TIMESTAMP " +
+            "where m.id = :id and m.status = :open and m.currentPlayers < m.maxPlayers " +
+            "and (m.date > :today or (m.date = :today and m.startTime > :now))")
+    int takePlace(@Param("id") String id,
+                  @Param("open") MatchStatus open,
+                  @Param("full") MatchStatus full,
+                  @Param("today") LocalDate today,
+                  @Param("now") LocalTime now);
+
+    /**
+     * Gives back one place of an open or full match that has not started yet, reopening a full one. The
+     * creator's place is never given back, so the count stays at least 1.
+     */
+    @Modifying
+    @Query("update Match m set m.status = :open, m.currentPlayers = m.currentPlayers - 1, m.updatedAt = CURRENT_TIMESTAMP " +
+            "where m.id = :id and m.status in (:open, :full) and m.currentPlayers > 1 " +
+            "and (m.date > :today or (m.date = :today and m.startTime > :now))")
+    int givePlace(@Param("id") String id,
+                  @Param("open") MatchStatus open,
+                  @Param("full") MatchStatus full,
+                  @Param("today") LocalDate today,
+                  @Param("now") LocalTime now);
+
+    /**
+     * Re-derives OPEN/FULL from the counts after the capacity of a match was edited.
+     */
+    @Modifying
+    @Query("update Match m set m.status = case when m.currentPlayers >= m.maxPlayers then :full else :open end, " +
+            "m.updatedAt = CURRENT_TIMESTAMP " +
+            "where m.id = :id and m.status in (:open, :full)")
+    int refreshCapacityStatus(@Param("id") String id,
+                              @Param("open") MatchStatus open,
+                              @Param("full") MatchStatus full);
+
+    /**
+     * Up to {@code limit} matches in one of {@code statuses} whose end time has passed, oldest first.
+     * An end of {@code midnight} means the end of the match's day.
+     */
+    @Query("select m.id from Match m where m.status in :statuses " +
+            "and (m.date < :today or (m.date = :today and m.endTime <= :now and m.endTime <> :midnight)) " +
+            "order by m.date, m.startTime, m.id")
+    List<String> findEndedIds(@Param("statuses") Collection<MatchStatus> statuses,
+                              @Param("today") LocalDate today,
+                              @Param("now") LocalTime now,
+                              @Param("midnight") LocalTime midnight,
+                              Limit limit);
+
+    @Modifying
+    @Query("update Match m set m.status = :to, m.updatedAt = CURRENT_TIMESTAMP " +
+            "where m.id in :ids and m.status in :from")
+    int transition(@Param("ids") Collection<String> ids,
+                   @Param("from") Collection<MatchStatus> from,
+                   @Param("to") MatchStatus to);
 }
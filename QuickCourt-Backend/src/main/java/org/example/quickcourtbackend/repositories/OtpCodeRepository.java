@@ -0,0 +1,63 @@
+package org.example.quickcourtbackend.repositories;
+
+import org.example.quickcourtbackend.models.OtpCode;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OtpCodeRepository extends JpaRepository<OtpCode, String> {
+
+    Optional<OtpCode> findByEmail(String email);
+
+    /**
+     * Replaces the email's code and resets its attempts. Returns 0 when the email has no row yet.
+     */
+    @Modifying
+    @Query("update OtpCode o set o.codeHash = :codeHash, o.expiresAt = :expiresAt, o.attempts = 0, " +
+            "o.updatedAt = CURRENT_TIMESTAMP where o.email = :email")
+    int replace(@Param("email") String email, @Param("codeHash") String codeHash, @Param("expiresAt") long expiresAt);
+
+    /**
+     * Counts one attempt if the code is live and under the limit. Returns 1 when the attempt was counted.
+     */
+    @Modifying
+    @Query("update OtpCode o set o.attempts = o.attempts + 1 " +
+            "where o.email = :email and o.expiresAt > :now and o.attempts < :maxAttempts")
+    int countAttempt(@Param("email") String email, @Param("now") long now, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Deletes the row if the code matches, so exactly one verification can consume it.
+     */
+    @Modifying
+    @Query("delete from OtpCode o where o.email = :email and o.codeHash = :codeHash and o.expiresAt > :now")
+    int consume(@Param("email") String email, @Param("codeHash") String codeHash, @Param("now") long now);
+
+    /**
+     * Deletes the email's row only if it is expired or out of attempts, so a code sent meanwhile survives.
+     */
+    @Modifying
+    @Query("delete from OtpCode o where o.email = :email and (o.expiresAt <= :now or o.attempts >= :maxAttempts)")
+    int deleteSpent(@Param("email") String email, @Param("now") long now, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("delete from OtpCode o where o.email = :email")
+    int deleteByEmailAddress(@Param("email") String email);
+
+    /**
+     * Up to {@code limit} expired rows, served by idx_otp_code_expires.
+     */
+    @Query("select o.id from OtpCode o where o.expiresAt <= :now order by o.expiresAt")
+    List<String> findExpiredIds(@Param("now") long now, Limit limit);
+
+    @Modifying
+    @Query("delete from OtpCode o where o.id in :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+}
@@ -1,9 +1,50 @@
 package org.example.quickcourtbackend.repositories;
 
+import org.example.quickcourtbackend.dtos.RatingAggregateProjection;
+import org.example.quickcourtbackend.dtos.ReviewFeedProjection;
 import org.example.quickcourtbackend.models.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, String> {
+
+    @Query("select r.facility.id as facilityId, count(r) as reviewCount, sum(r.rating) as ratingSum, " +
+            "sum(case when r.rating = 1 then 1 else 0 end) as stars1, " +
+            "sum(case when r.rating = 2 then 1 else 0 end) as stars2, " +
+            "sum(case when r.rating = 3 then 1 else 0 end) as stars3, " +
+            "sum(case when r.rating = 4 then 1 else 0 end) as stars4, " +
+            "sum(case when r.rating = 5 then 1 else 0 end) as stars5 " +
+            "from Review r where r.facility.id in :facilityIds and r.rating between 1 and 5 group by r.facility.id")
+    List<RatingAggregateProjection> aggregateByFacilityIds(@Param("facilityIds") Collection<String> facilityIds);
+
+    /**
+     * One page of a facility's reviews, newest first, starting after the cursor position when given. The
+     * reviewer's name comes from the same join, and the order matches idx_review_facility_created (or
+     * idx_review_facility_rating_created when filtering on one rating) read backwards.
+     */
+    // MySQL's concat is null as soon as one part is; a user missing either name still gets the other
+    @Query("select r.id as id, u.id as userId, " +
+            "trim(concat(coalesce(u.firstName, ''), ' ', coalesce(u.lastName, ''))) as reviewerName, " +
+            "r.rating as rating, r.comment as comment, r.createdAt as createdAt " +
+            "from Review r join r.user u " +
+            "where r.facility.id = :facilityId " +
+            "and (:minRating is null or r.rating >= :minRating) " +
+            "and (:maxRating is null or r.rating <= :maxRating) " +
+            "and (:afterCreatedAt is null or r.createdAt < :afterCreatedAt or " +
+            "(r.createdAt = :afterCreatedAt and r.id < :afterId)) " +
+            "order by r.createdAt desc, r.id desc")
+    List<ReviewFeedProjection> findFeed(@Param("facilityId") String facilityId,
+                                        @Param("minRating") Integer minRating,
+                                        @Param("maxRating") Integer maxRating,
+                                        @Param("afterCreatedAt") Date afterCreatedAt,
+                                        @Param("afterId") String afterId,
+                                        Limit limit);
 }
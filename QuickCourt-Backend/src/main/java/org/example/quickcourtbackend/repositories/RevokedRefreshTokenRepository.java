@@ -0,0 +1,27 @@
+package org.example.quickcourtbackend.repositories;
+
+import org.example.quickcourtbackend.models.RevokedRefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface RevokedRefreshTokenRepository extends JpaRepository<RevokedRefreshToken, String> {
+
+    boolean existsByTokenId(String tokenId);
+
+    /**
+     * Ids revoked at or after {@code since} that can still be presented; walks idx_revoked_refresh_created.
+     */
+    @Query("select r.tokenId from RevokedRefreshToken r where r.createdAt >= :since and r.expiresAt > :now")
+    List<String> findLiveTokenIdsSince(@Param("since") Date since, @Param("now") long now);
+
+    @Modifying
+    @Query("delete from RevokedRefreshToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -0,0 +1,20 @@
+package org.example.quickcourtbackend.repositories;
+
+import org.example.quickcourtbackend.models.ScheduleException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScheduleExceptionRepository extends JpaRepository<ScheduleException, String> {
+
+    List<ScheduleException> findByCourtId(String courtId);
+
+    @Modifying
+    @Query("delete from ScheduleException e where e.court.id = :courtId")
+    int deleteByCourtId(@Param("courtId") String courtId);
+}
@@ -0,0 +1,20 @@
+package org.example.quickcourtbackend.repositories;
+
+import org.example.quickcourtbackend.models.ScheduleRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScheduleRuleRepository extends JpaRepository<ScheduleRule, String> {
+
+    List<ScheduleRule> findByCourtId(String courtId);
+
+    @Modifying
+    @Query("delete from ScheduleRule r where r.court.id = :courtId")
+    int deleteByCourtId(@Param("courtId") String courtId);
+}
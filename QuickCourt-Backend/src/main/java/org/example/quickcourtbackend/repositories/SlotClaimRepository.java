@@ -0,0 +1,31 @@
+package org.example.quickcourtbackend.repositories;
+
+import org.example.quickcourtbackend.models.SlotClaim;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SlotClaimRepository extends JpaRepository<SlotClaim, String> {
+
+    @Modifying
+    @Query("delete from SlotClaim c where c.reservationId = :reservationId")
+    int deleteByReservationId(@Param("reservationId") String reservationId);
+
+    /**
+     * Up to {@code limit} claims on days before {@code before}; served by idx_slot_claim_date.
+     */
+    @Query("select c.id from SlotClaim c where c.date < :before")
+    List<String> findIdsBefore(@Param("before") LocalDate before, Limit limit);
+
+    @Modifying
+    @Query("delete from SlotClaim c where c.id in :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+}
@@ -1,7 +1,11 @@
 package org.example.quickcourtbackend.repositories;
 
+import org.example.quickcourtbackend.dtos.UserTokenStateProjection;
 import org.example.quickcourtbackend.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +15,15 @@ public interface UserRepository  extends JpaRepository<User , String> {
     Optional<User> findByEmail(String email);
     User findUserById(String id);
 
+    @Query("select u.id as id, u.email as email, u.role as role, u.tokenVersion as tokenVersion from User u where u.id = :id")
+    Optional<UserTokenStateProjection> findTokenStateById(@Param("id") String id);
+
+    /**
+     * Replaces the password hash only if it is still {@code oldHash}, so a concurrent password change wins.
+     */
+    @Modifying
+    @Query("update User u set u.password = :newHash, u.updatedAt = CURRENT_TIMESTAMP " +
+            "where u.id = :id and u.password = :oldHash")
+    int updatePasswordHash(@Param("id") String id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
 }
@@ -0,0 +1,47 @@
+package org.example.quickcourtbackend.repositories;
+
+import org.example.quickcourtbackend.dtos.WaitlistProjection;
+import org.example.quickcourtbackend.enums.WaitlistStatus;
+import org.example.quickcourtbackend.models.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, String> {
+
+    @Query("select w.id as id, w.courtId as courtId, w.date as date, w.startTime as startTime, w.endTime as endTime " +
+            "from WaitlistEntry w where w.status = :status and w.date >= :from order by w.queuedAt, w.id")
+    List<WaitlistProjection> findQueuedFrom(@Param("status") WaitlistStatus status, @Param("from") LocalDate from);
+
+    @Query("select w.id as id, w.courtId as courtId, w.date as date, w.startTime as startTime, w.endTime as endTime " +
+            "from WaitlistEntry w where w.courtId = :courtId and w.date = :date " +
+            "and w.status = org.example.quickcourtbackend.enums.WaitlistStatus.WAITING order by w.queuedAt, w.id")
+    List<WaitlistProjection> findWaiting(@Param("courtId") String courtId, @Param("date") LocalDate date);
+
+    @Query("select count(w) from WaitlistEntry w where w.courtId = :courtId and w.date = :date " +
+            "and w.status = org.example.quickcourtbackend.enums.WaitlistStatus.WAITING " +
+            "and (w.queuedAt < :queuedAt or (w.queuedAt = :queuedAt and w.id < :id))")
+    long countWaitingAhead(@Param("courtId") String courtId, @Param("date") LocalDate date,
+                           @Param("queuedAt") Long queuedAt, @Param("id") String id);
+
+    boolean existsByUserIdAndCourtIdAndDateAndStartTimeAndEndTimeAndStatus(String userId, String courtId, LocalDate date,
+                                                                           LocalTime startTime, LocalTime endTime,
+                                                                           WaitlistStatus status);
+
+    @Modifying
+    @Query("update WaitlistEntry w set w.status = org.example.quickcourtbackend.enums.WaitlistStatus.PROMOTED, " +
+            "w.bookingId = :bookingId where w.id = :id and w.status = org.example.quickcourtbackend.enums.WaitlistStatus.WAITING")
+    int markPromoted(@Param("id") String id, @Param("bookingId") String bookingId);
+
+    @Modifying
+    @Query("update WaitlistEntry w set w.status = org.example.quickcourtbackend.enums.WaitlistStatus.CANCELLED " +
+            "where w.id = :id and w.status = org.example.quickcourtbackend.enums.WaitlistStatus.WAITING")
+    int cancelWaiting(@Param("id") String id);
+}
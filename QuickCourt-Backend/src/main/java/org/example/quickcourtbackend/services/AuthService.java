@@ -10,12 +10,9 @@ import org.example.quickcourtbackend.models.User;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,19 +21,26 @@ import java.util.Optional;
 @Service
 public class AuthService{
 
+    public static final String ACCESS_COOKIE = "JwtToken";
+    public static final String REFRESH_COOKIE = "RefreshToken";
+    private static final String REFRESH_COOKIE_PATH = "/api/v1/auth";
+
     private final UserRepository userRepository;
-    private final AuthenticationManager authenticationManager;
     private final JWTService jwtService;
-    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingService passwordHashingService;
     private final OtpService otpService;
+    private final TransactionTemplate transactionTemplate;
 
-    public AuthService(UserRepository userRepository, AuthenticationManager authenticationManager, 
-                      JWTService jwtService, PasswordEncoder passwordEncoder, OtpService otpService) {
+    public AuthService(UserRepository userRepository, JWTService jwtService, RefreshTokenService refreshTokenService,
+                      PasswordHashingService passwordHashingService, OtpService otpService,
+                      TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
-        this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
-        this.passwordEncoder = passwordEncoder;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordHashingService = passwordHashingService;
         this.otpService = otpService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     public User createUser(SignUpRequestDto userDto) {
@@ -65,7 +69,7 @@ public class AuthService{
                 .firstName(userDto.getFirstName())
                 .lastName(userDto.getLastName())
                 .email(userDto.getEmail())
-                .password(passwordEncoder.encode(userDto.getPassword()))
+                .password(passwordHashingService.encode(userDto.getPassword()))
                 .role(UserRole.valueOf(userDto.getRole()))
                 .phoneNumber(userDto.getPhoneNumber())
                 .build();
@@ -90,34 +94,48 @@ public class AuthService{
         }
         
         try {
-            // Use email for authentication to maintain consistency
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(userDto.getEmail(), userDto.getPassword())
-            );
-
-            if (authentication.isAuthenticated()) {
-                String token = jwtService.createToken(userDto.getEmail());
-
-                ResponseCookie cookie = ResponseCookie.from("JwtToken", token)
-                        .httpOnly(true)
-                        .secure(false) // Set to true in production with HTTPS
-                        .path("/")
-                        .maxAge(7 * 24 * 3600) // 7 days in seconds
-                        .sameSite("Lax") // Add SameSite for better security
-                        .build();
-
-                response.setHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            // BCrypt runs on the hashing pool; an unknown email is checked against a dummy hash
+            boolean authenticated = passwordHashingService.matches(userDto.getPassword(),
+                    user.map(User::getPassword).orElse(null));
+
+            if (authenticated) {
+                rehashIfNeeded(user.get(), userDto.getPassword());
+                writeSession(response, refreshTokenService.issue(user.get()));
                 log.info("User login successful for email: {}", userDto.getEmail());
                 return user;
             }
-        } catch (BadCredentialsException e) {
             log.warn("Invalid credentials for email: {}", userDto.getEmail());
+        } catch (ResponseStatusException e) {
+            // Hashing pool is saturated: let the caller see the 429 rather than a failed login
+            throw e;
         } catch (Exception e) {
             log.error("Authentication error for email: {}", userDto.getEmail(), e);
         }
         throw new RuntimeException("Invalid login request data for email");
     }
     
+    /**
+     * Re-hashes the password at the configured BCrypt cost after the cost was changed. Skipped when the pool
+     * is busy or another login got there first; the next login tries again.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        String current = user.getPassword();
+        if (!passwordHashingService.needsRehash(current)) {
+            return;
+        }
+        try {
+            String rehashed = passwordHashingService.encode(rawPassword);
+            Integer updated = transactionTemplate.execute(status ->
+                    userRepository.updatePasswordHash(user.getId(), current, rehashed));
+            if (updated != null && updated == 1) {
+                user.setPassword(rehashed);
+                log.info("Re-hashed password at the configured cost for user: {}", user.getId());
+            }
+        } catch (ResponseStatusException e) {
+            log.debug("Skipping password re-hash for user {}: hashing pool busy", user.getId());
+        }
+    }
+
     public String initiateOtpLogin(String email) {
         log.info("Initiating OTP login for email: {}", email);
         
@@ -155,20 +173,41 @@ public class AuthService{
             return false;
         }
         
-        // Generate JWT token
-        String token = jwtService.createToken(email);
-        
-        ResponseCookie cookie = ResponseCookie.from("JwtToken", token)
+        // Issue an access token and start a refresh token family
+        writeSession(response, refreshTokenService.issue(user.get()));
+        log.info("OTP login successful for email: {}", email);
+        return true;
+    }
+
+    /**
+     * Rotates the refresh token from the cookie into a new session; no password check, so no BCrypt.
+     */
+    public void refreshSession(String refreshToken, HttpServletResponse response) {
+        writeSession(response, refreshTokenService.refresh(refreshToken));
+    }
+
+    public void logout(String refreshToken, HttpServletResponse response) {
+        refreshTokenService.revoke(refreshToken);
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(ACCESS_COOKIE, "", "/", 0).toString());
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(REFRESH_COOKIE, "", REFRESH_COOKIE_PATH, 0).toString());
+    }
+
+    private void writeSession(HttpServletResponse response, RefreshTokenService.Session session) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(ACCESS_COOKIE, session.accessToken(), "/",
+                jwtService.getExpiryMillis() / 1000).toString());
+        // Only sent to the auth endpoints, never with ordinary API calls
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(REFRESH_COOKIE, session.refreshToken(), REFRESH_COOKIE_PATH,
+                jwtService.getRefreshExpiryMillis() / 1000).toString());
+    }
+
+    private static ResponseCookie cookie(String name, String value, String path, long maxAgeSeconds) {
+        return ResponseCookie.from(name, value)
                 .httpOnly(true)
                 .secure(false) // Set to true in production with HTTPS
-                .path("/")
-                .maxAge(7 * 24 * 3600) // 7 days in seconds
+                .path(path)
+                .maxAge(maxAgeSeconds)
                 .sameSite("Lax")
                 .build();
-
-        response.setHeader(HttpHeaders.SET_COOKIE, cookie.toString());
-        log.info("OTP login successful for email: {}", email);
-        return true;
     }
 
     public List<User> getAllUser() {
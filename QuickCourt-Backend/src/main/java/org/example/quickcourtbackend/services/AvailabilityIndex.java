@@ -0,0 +1,262 @@
+package org.example.quickcourtbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.CourtDayProjection;
+import org.example.quickcourtbackend.dtos.SlotOccupancyProjection;
+import org.example.quickcourtbackend.dtos.TimeSlotDto;
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.MatchStatus;
+import org.example.quickcourtbackend.helper.SlotBitmap;
+import org.example.quickcourtbackend.repositories.BookingRepository;
+import org.example.quickcourtbackend.repositories.MatchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory occupancy of every court, one {@link SlotBitmap} per (court, date), built from
+ * non-cancelled bookings and matches.
+ * Dates from the last rebuild day onwards are fully indexed; older dates are loaded from the database on first use.
+ * Writes through other nodes arrive with the periodic sync of court-days whose reservations changed; deletions
+ * there only show up with the slower full rebuild, or when an admission here collides with them and refreshes.
+ */
+@Slf4j
+@Service
+public class AvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+    private final MatchRepository matchRepository;
+
+    private static final int SYNC_CHUNK = 500;
+
+    private final Map<SlotKey, SlotBitmap> occupied = new ConcurrentHashMap<>();
+    private final long syncOverlapMs;
+    private volatile LocalDate indexedFrom = LocalDate.MAX;
+
+    // Lower bound of the next sync window; 0 until the first rebuild
+    private long syncedFrom;
+
+    public AvailabilityIndex(BookingRepository bookingRepository, MatchRepository matchRepository,
+                             @Value("${availability.sync-overlap-ms:10000}") long syncOverlapMs) {
+        this.bookingRepository = bookingRepository;
+        this.matchRepository = matchRepository;
+        this.syncOverlapMs = syncOverlapMs;
+    }
+
+    /**
+     * Reconciles every court-day from today onwards with the database and drops older ones, which load again
+     * on first use. The snapshot is read before any entry is touched; an entry that an admission on this node
+     * changed meanwhile is left alone, since the snapshot may predate that admission.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${availability.rebuild-ms:600000}", initialDelayString = "${availability.rebuild-ms:600000}")
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDate from = LocalDate.now();
+        Map<SlotKey, SlotBitmap> before = new HashMap<>(occupied);
+
+        Map<SlotKey, SlotBitmap> rebuilt = new HashMap<>();
+        bookingRepository.findOccupancyFrom(from, BookingStatus.CANCELLED).forEach(row -> merge(rebuilt, row));
+        matchRepository.findOccupancyFrom(from, MatchStatus.CANCELLED).forEach(row -> merge(rebuilt, row));
+
+        Set<SlotKey> keys = new HashSet<>(before.keySet());
+        keys.addAll(rebuilt.keySet());
+        for (SlotKey key : keys) {
+            if (!key.date().isBefore(from)) {
+                swap(key, before.get(key), rebuilt.getOrDefault(key, SlotBitmap.EMPTY));
+            }
+        }
+        indexedFrom = from;
+        occupied.keySet().removeIf(key -> key.date().isBefore(from));
+        syncedFrom = started - syncOverlapMs;
+        log.info("Availability index rebuilt with {} court-days in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Reloads the court-days whose bookings or matches changed on any node since the last sync, including
+     * cancellations and holds expired there. Each window reaches back by the overlap, so a write that committed
+     * after its {@code updatedAt} was already past is still seen.
+     */
+    @Scheduled(fixedDelayString = "${availability.sync-ms:5000}", initialDelayString = "${availability.sync-ms:5000}")
+    public synchronized void syncChanges() {
+        if (syncedFrom == 0) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        LocalDate from = indexedFrom;
+        Date since = new Date(syncedFrom);
+
+        Map<String, Set<LocalDate>> changed = new HashMap<>();
+        bookingRepository.findCourtDaysUpdatedSince(since, from).forEach(row -> collect(changed, row));
+        matchRepository.findCourtDaysUpdatedSince(since, from).forEach(row -> collect(changed, row));
+
+        List<String> courtIds = new ArrayList<>(changed.keySet());
+        for (int i = 0; i < courtIds.size(); i += SYNC_CHUNK) {
+            List<String> chunk = courtIds.subList(i, Math.min(i + SYNC_CHUNK, courtIds.size()));
+            Map<SlotKey, SlotBitmap> before = new HashMap<>();
+            chunk.forEach(courtId -> changed.get(courtId).forEach(date -> {
+                SlotKey key = new SlotKey(courtId, date);
+                before.put(key, occupied.get(key));
+            }));
+
+            Map<SlotKey, SlotBitmap> loaded = new HashMap<>();
+            bookingRepository.findOccupancyOfCourtsFrom(chunk, from, BookingStatus.CANCELLED)
+                    .forEach(row -> merge(loaded, row));
+            matchRepository.findOccupancyOfCourtsFrom(chunk, from, MatchStatus.CANCELLED)
+                    .forEach(row -> merge(loaded, row));
+            before.forEach((key, previous) -> swap(key, previous, loaded.getOrDefault(key, SlotBitmap.EMPTY)));
+        }
+        syncedFrom = started - syncOverlapMs;
+    }
+
+    public boolean isFree(CourtSlot slot) {
+        return !bitmap(slot.key()).intersects(slot.bits());
+    }
+
+    /**
+     * Marks the slot as occupied unless any part of it is already taken.
+     */
+    public boolean tryOccupy(CourtSlot slot) {
+        return move(null, slot);
+    }
+
+    public void release(CourtSlot slot) {
+        if (slot != null) {
+            occupied.computeIfPresent(slot.key(), (key, current) -> current.andNot(slot.bits()));
+        }
+    }
+
+    /**
+     * Atomically replaces {@code from} with {@code to}; either side may be null.
+     * Returns false and leaves the index untouched when {@code to} collides with another reservation.
+     */
+    public boolean move(CourtSlot from, CourtSlot to) {
+        if (to == null) {
+            release(from);
+            return true;
+        }
+
+        SlotKey key = to.key();
+        SlotBitmap wanted = to.bits();
+        boolean sameDay = from != null && from.key().equals(key);
+        SlotBitmap vacated = sameDay ? from.bits() : SlotBitmap.EMPTY;
+        boolean[] admitted = {false};
+
+        occupied.compute(key, (k, current) -> {
+            SlotBitmap base = current != null ? current : load(k);
+            if (base.andNot(vacated).intersects(wanted)) {
+                return base;
+            }
+            admitted[0] = true;
+            return base.andNot(vacated).or(wanted);
+        });
+
+        if (admitted[0] && from != null && !sameDay) {
+            release(from);
+        }
+        return admitted[0];
+    }
+
+    /**
+     * Free ranges of the court-day, restricted to the {@code open} slots of its schedule.
+     */
+    public List<TimeSlotDto> freeSlots(String courtId, LocalDate date, SlotBitmap open) {
+        SlotBitmap unavailable = bitmap(new SlotKey(courtId, date)).or(SlotBitmap.FULL_DAY.andNot(open));
+        return unavailable.freeRuns().stream()
+                .map(run -> new TimeSlotDto(SlotBitmap.slotStart(run[0]), SlotBitmap.slotStart(run[1])))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reloads one court-day from the database, e.g. after another node won a slot this node thought was free.
+     */
+    public void refresh(String courtId, LocalDate date) {
+        SlotKey key = new SlotKey(courtId, date);
+        occupied.put(key, query(key));
+    }
+
+    public void evictCourt(String courtId) {
+        occupied.keySet().removeIf(key -> key.courtId().equals(courtId));
+    }
+
+    // Installs a value read from the database unless the entry moved on since {@code previous} was taken
+    private void swap(SlotKey key, SlotBitmap previous, SlotBitmap loaded) {
+        if (previous == null) {
+            occupied.putIfAbsent(key, loaded);
+        } else {
+            occupied.replace(key, previous, loaded);
+        }
+    }
+
+    private static void collect(Map<String, Set<LocalDate>> target, CourtDayProjection row) {
+        target.computeIfAbsent(row.getCourtId(), courtId -> new HashSet<>()).add(row.getDate());
+    }
+
+    private SlotBitmap bitmap(SlotKey key) {
+        SlotBitmap bits = occupied.get(key);
+        if (bits != null) {
+            return bits;
+        }
+        if (!key.date().isBefore(indexedFrom)) {
+            return SlotBitmap.EMPTY;
+        }
+        return occupied.computeIfAbsent(key, this::load);
+    }
+
+    private SlotBitmap load(SlotKey key) {
+        if (!key.date().isBefore(indexedFrom)) {
+            return SlotBitmap.EMPTY;
+        }
+        return query(key);
+    }
+
+    private SlotBitmap query(SlotKey key) {
+        Map<SlotKey, SlotBitmap> loaded = new HashMap<>();
+        bookingRepository.findOccupancy(key.courtId(), key.date(), BookingStatus.CANCELLED)
+                .forEach(row -> merge(loaded, row));
+        matchRepository.findOccupancy(key.courtId(), key.date(), MatchStatus.CANCELLED)
+                .forEach(row -> merge(loaded, row));
+        return loaded.getOrDefault(key, SlotBitmap.EMPTY);
+    }
+
+    private static void merge(Map<SlotKey, SlotBitmap> target, SlotOccupancyProjection row) {
+        SlotBitmap bits;
+        try {
+            bits = SlotBitmap.of(row.getStartTime(), row.getEndTime());
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping reservation on court {} at {} with invalid time range: {}",
+                    row.getCourtId(), row.getDate(), e.getMessage());
+            return;
+        }
+        target.merge(new SlotKey(row.getCourtId(), row.getDate()), bits, SlotBitmap::or);
+    }
+
+    public record CourtSlot(String courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+
+        SlotKey key() {
+            return new SlotKey(courtId, date);
+        }
+
+        SlotBitmap bits() {
+            return SlotBitmap.of(startTime, endTime);
+        }
+    }
+
+    private record SlotKey(String courtId, LocalDate date) {
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.quickcourtbackend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.BookingExportProjection;
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.ExportFormat;
+import org.example.quickcourtbackend.repositories.BookingRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Booking exports written row by row from a database cursor, so memory use does not depend on the size
+ * of the range and the first rows reach the client while the query is still being read.
+ */
+@Slf4j
+@Service
+public class BookingExportService {
+
+    private static final String CSV_HEADER = "id,userId,courtId,courtName,facilityId,facilityName,date,startTime,"
+            + "endTime,duration,status,paymentStatus,pricePerHour,amount,createdAt";
+    private static final int FLUSH_EVERY = 500;
+
+    private final BookingRepository bookingRepository;
+    private final ObjectWriter jsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BookingExportService(BookingRepository bookingRepository, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.jsonWriter = objectMapper.writer();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Validates the request up front; the returned body opens the cursor only once the response starts.
+     */
+    public StreamingResponseBody export(String userId, String courtId, String facilityId, BookingStatus status,
+                                        LocalDate from, LocalDate to, ExportFormat format) {
+        if (from == null || to == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Export needs both from and to dates");
+        }
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must not be before start date");
+        }
+        return out -> {
+            long started = System.currentTimeMillis();
+            long[] written = {0};
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            try {
+                readOnlyTransaction.executeWithoutResult(tx -> {
+                    try (Stream<BookingExportProjection> rows = bookingRepository.streamForExport(
+                            userId, courtId, facilityId, status, from, to)) {
+                        written[0] = write(rows.iterator(), format, writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            log.info("Exported {} bookings from {} to {} as {} in {} ms",
+                    written[0], from, to, format, System.currentTimeMillis() - started);
+        };
+    }
+
+    private long write(Iterator<BookingExportProjection> rows, ExportFormat format, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        // Get the first bytes out before the first batch is fully read
+        writer.flush();
+        long count = 0;
+        while (rows.hasNext()) {
+            BookingExportProjection row = rows.next();
+            if (format == ExportFormat.CSV) {
+                writeCsv(row, writer);
+            } else {
+                writer.write(jsonWriter.writeValueAsString(row));
+            }
+            writer.write('\n');
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private static void writeCsv(BookingExportProjection row, Writer writer) throws IOException {
+        Double amount = row.getPricePerHour() != null && row.getDuration() != null
+                ? row.getPricePerHour() / 60 * row.getDuration()
+                : null;
+        Object[] values = {row.getId(), row.getUserId(), row.getCourtId(), row.getCourtName(), row.getFacilityId(),
+                row.getFacilityName(), row.getDate(), row.getStartTime(), row.getEndTime(), row.getDuration(),
+                row.getStatus(), row.getPaymentStatus(), row.getPricePerHour(), amount,
+                row.getCreatedAt() != null ? row.getCreatedAt().toInstant() : null};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvField(values[i], writer);
+        }
+    }
+
+    private static void writeCsvField(Object value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        // Names are user input; keep spreadsheets from evaluating them as formulas
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -1,17 +1,34 @@
 package org.example.quickcourtbackend.services;
 
 import org.example.quickcourtbackend.dtos.BookingRequestDto;
+import org.example.quickcourtbackend.dtos.BookingOccurrenceResultDto;
 import org.example.quickcourtbackend.dtos.BookingResponseDto;
+import org.example.quickcourtbackend.dtos.BookingSummaryProjection;
+import org.example.quickcourtbackend.dtos.BulkBookingRequestDto;
+import org.example.quickcourtbackend.dtos.BulkBookingResponseDto;
+import org.example.quickcourtbackend.dtos.CursorPageDto;
 import org.example.quickcourtbackend.repositories.BookingRepository;
 import org.example.quickcourtbackend.repositories.CourtRepository;
 import org.example.quickcourtbackend.repositories.UserRepository;
 import org.example.quickcourtbackend.enums.BookingStatus;
 import org.example.quickcourtbackend.enums.PaymentStatus;
+import org.example.quickcourtbackend.helper.BookingCursor;
 import org.example.quickcourtbackend.models.Booking;
+import org.example.quickcourtbackend.models.Court;
+import org.example.quickcourtbackend.models.User;
+import org.example.quickcourtbackend.services.AvailabilityIndex.CourtSlot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +44,20 @@ public class BookingService {
     @Autowired
     private CourtRepository courtRepository;
 
+    @Autowired
+    private SlotAdmissionService slotAdmissionService;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private CourtScheduleService courtScheduleService;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    private static final int MAX_OCCURRENCES = 200;
+    private static final int MAX_PAGE_SIZE = 200;
 
     public BookingResponseDto createBooking(BookingRequestDto dto) {
         Booking booking = new Booking();
@@ -40,11 +71,104 @@ public class BookingService {
         booking.setDuration(dto.getDuration());
         booking.setStatus(BookingStatus.valueOf(dto.getStatus()));
         booking.setPaymentStatus(PaymentStatus.valueOf(dto.getPaymentStatus()));
+        if (booking.getStatus() == BookingStatus.HELD) {
+            booking.setHoldExpiresAt(slotHoldService.newExpiry());
+        }
 
-        Booking saved = bookingRepository.save(booking);
+        Booking saved = slotAdmissionService.admit(null, slotOf(booking), () -> bookingRepository.save(booking));
+        if (saved.getStatus() == BookingStatus.HELD) {
+            slotHoldService.track(saved.getId(), saved.getHoldExpiresAt());
+        }
         return mapToResponseDto(saved);
     }
 
+    /**
+     * Reserves the slot for the hold TTL while the user pays. Unconfirmed holds are released automatically.
+     */
+    public BookingResponseDto createHold(BookingRequestDto dto) {
+        dto.setStatus(BookingStatus.HELD.name());
+        dto.setPaymentStatus(PaymentStatus.PENDING.name());
+        return createBooking(dto);
+    }
+
+    public BookingResponseDto confirmHold(String id, PaymentStatus paymentStatus) {
+        slotHoldService.confirm(id, paymentStatus);
+        return getBookingById(id);
+    }
+
+    /**
+     * Books the same time on many dates. Every occurrence is checked against the schedule and the availability
+     * index first; the accepted ones are then inserted as one JDBC batch.
+     */
+    public BulkBookingResponseDto createBulkBookings(BulkBookingRequestDto dto) {
+        if (dto.getStartTime() == null || dto.getEndTime() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start time and end time are required");
+        }
+        User user = userRepository.findById(dto.getUserId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Court court = courtRepository.findById(dto.getCourtId())
+                .orElseThrow(() -> new RuntimeException("Court not found"));
+        BookingStatus status = BookingStatus.valueOf(dto.getStatus() != null ? dto.getStatus() : BookingStatus.CONFIRMED.name());
+        PaymentStatus paymentStatus = PaymentStatus.valueOf(
+                dto.getPaymentStatus() != null ? dto.getPaymentStatus() : PaymentStatus.PENDING.name());
+        if (status == BookingStatus.CANCELLED || status == BookingStatus.HELD) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk bookings cannot be created as " + status);
+        }
+        boolean allOrNothing = dto.getAllOrNothing() == null || dto.getAllOrNothing();
+
+        List<BookingOccurrenceResultDto> results = new ArrayList<>();
+        List<Booking> accepted = new ArrayList<>();
+        for (LocalDate date : occurrences(dto)) {
+            CourtSlot slot = new CourtSlot(court.getId(), date, dto.getStartTime(), dto.getEndTime());
+            String reason = !courtScheduleService.isOpen(slot) ? SlotAdmissionService.COURT_CLOSED
+                    : !availabilityIndex.isFree(slot) ? SlotAdmissionService.SLOT_TAKEN
+                    : null;
+            results.add(new BookingOccurrenceResultDto(date, false, null, reason));
+            if (reason == null) {
+                accepted.add(Booking.builder()
+                        .user(user)
+                        .court(court)
+                        .date(date)
+                        .startTime(dto.getStartTime())
+                        .endTime(dto.getEndTime())
+                        .duration(dto.getDuration())
+                        .status(status)
+                        .paymentStatus(paymentStatus)
+                        .build());
+            }
+        }
+
+        if (allOrNothing && accepted.size() < results.size()) {
+            results.stream().filter(r -> r.getReason() == null)
+                    .forEach(r -> r.setReason("Not booked because another occurrence was rejected"));
+            return new BulkBookingResponseDto(results.size(), 0, results);
+        }
+
+        List<Booking> saved;
+        try {
+            saved = accepted.isEmpty() ? List.of() : slotAdmissionService.admitAll(
+                    accepted.stream().map(this::slotOf).toList(),
+                    () -> bookingRepository.saveAll(accepted));
+        } catch (ResponseStatusException e) {
+            if (allOrNothing) {
+                throw e;
+            }
+            saved = admitOneByOne(accepted, results);
+        }
+
+        for (Booking booking : saved) {
+            results.stream()
+                    .filter(r -> r.getDate().equals(booking.getDate()))
+                    .findFirst()
+                    .ifPresent(r -> {
+                        r.setBooked(true);
+                        r.setBookingId(booking.getId());
+                        r.setReason(null);
+                    });
+        }
+        return new BulkBookingResponseDto(results.size(), saved.size(), results);
+    }
+
     public BookingResponseDto getBookingById(String id) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -52,14 +176,46 @@ public class BookingService {
     }
 
 
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    /**
+     * Keyset-paginated listing in (date, startTime, id) order. Each page costs one indexed range scan no
+     * matter how deep the client has paged.
+     */
+    public CursorPageDto<BookingSummaryProjection> listBookings(String userId, String courtId, String facilityId,
+                                                               BookingStatus status, LocalDate from, LocalDate to,
+                                                               String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must not be before start date");
+        }
+        BookingCursor after;
+        try {
+            after = cursor != null && !cursor.isBlank() ? BookingCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        List<BookingSummaryProjection> rows = bookingRepository.findPage(userId, courtId, facilityId, status, from, to,
+                after != null ? after.date() : null,
+                after != null ? after.startTime() : null,
+                after != null ? after.id() : null,
+                Limit.of(size + 1));
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            BookingSummaryProjection last = rows.get(size - 1);
+            nextCursor = new BookingCursor(last.getDate(), last.getStartTime(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(rows, rows.size(), nextCursor);
     }
 
 
     public BookingResponseDto updateBooking(String id, BookingRequestDto dto) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
+        CourtSlot previous = slotOf(booking);
+        BookingStatus previousStatus = booking.getStatus();
         booking.setUser(userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found")));
         booking.setCourt(courtRepository.findById(dto.getCourtId())
@@ -71,13 +227,81 @@ public class BookingService {
         booking.setStatus(BookingStatus.valueOf(dto.getStatus()));
         booking.setPaymentStatus(PaymentStatus.valueOf(dto.getPaymentStatus()));
 
-        Booking updated = bookingRepository.save(booking);
+        if (booking.getStatus() != BookingStatus.HELD) {
+            booking.setHoldExpiresAt(null);
+        } else if (previousStatus != BookingStatus.HELD) {
+            booking.setHoldExpiresAt(slotHoldService.newExpiry());
+        }
+
+        Booking updated = slotAdmissionService.admit(previous, slotOf(booking), () -> bookingRepository.save(booking));
+        if (updated.getStatus() == BookingStatus.HELD) {
+            slotHoldService.track(updated.getId(), updated.getHoldExpiresAt());
+        } else {
+            slotHoldService.untrack(updated.getId());
+        }
         return mapToResponseDto(updated);
     }
 
 
     public void deleteBooking(String id) {
-        bookingRepository.deleteById(id);
+        bookingRepository.findById(id).ifPresent(booking -> {
+            slotAdmissionService.release(slotOf(booking), booking.getId(), () -> bookingRepository.delete(booking));
+            slotHoldService.untrack(booking.getId());
+        });
+    }
+
+    // Fallback for partial-success requests whose batch lost a race with another node
+    private List<Booking> admitOneByOne(List<Booking> accepted, List<BookingOccurrenceResultDto> results) {
+        List<Booking> saved = new ArrayList<>();
+        for (Booking booking : accepted) {
+            try {
+                saved.add(slotAdmissionService.admit(null, slotOf(booking), () -> bookingRepository.save(booking)));
+            } catch (ResponseStatusException e) {
+                results.stream()
+                        .filter(r -> r.getDate().equals(booking.getDate()))
+                        .findFirst()
+                        .ifPresent(r -> r.setReason(e.getReason()));
+            }
+        }
+        return saved;
+    }
+
+    private static Set<LocalDate> occurrences(BulkBookingRequestDto dto) {
+        Set<LocalDate> dates = new TreeSet<>();
+        if (dto.getDates() != null) {
+            dates.addAll(dto.getDates());
+        }
+        if (dto.getStartDate() != null) {
+            if (dto.getEndDate() == null || dto.getEndDate().isBefore(dto.getStartDate())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Recurrence needs an end date on or after its start date");
+            }
+            Set<DayOfWeek> days = dto.getDaysOfWeek() != null && !dto.getDaysOfWeek().isEmpty()
+                    ? Set.copyOf(dto.getDaysOfWeek())
+                    : Set.of(dto.getStartDate().getDayOfWeek());
+            for (LocalDate date = dto.getStartDate(); !date.isAfter(dto.getEndDate()); date = date.plusDays(1)) {
+                if (days.contains(date.getDayOfWeek())) {
+                    dates.add(date);
+                }
+                if (dates.size() > MAX_OCCURRENCES) {
+                    break;
+                }
+            }
+        }
+        if (dates.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No booking dates given");
+        }
+        if (dates.size() > MAX_OCCURRENCES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_OCCURRENCES + " occurrences per request");
+        }
+        return dates;
+    }
+
+    private CourtSlot slotOf(Booking booking) {
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            return null;
+        }
+        return new CourtSlot(booking.getCourt().getId(), booking.getDate(),
+                booking.getStartTime(), booking.getEndTime());
     }
 
     private BookingResponseDto mapToResponseDto(Booking booking) {
@@ -91,6 +315,7 @@ public class BookingService {
         dto.setDuration(booking.getDuration());
         dto.setStatus(booking.getStatus().name());
         dto.setPaymentStatus(booking.getPaymentStatus().name());
+        dto.setHoldExpiresAt(booking.getHoldExpiresAt());
         return dto;
     }
 }
@@ -0,0 +1,166 @@
+package org.example.quickcourtbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.CourtCatalogProjection;
+import org.example.quickcourtbackend.dtos.CourtSearchResultDto;
+import org.example.quickcourtbackend.enums.SportType;
+import org.example.quickcourtbackend.models.Court;
+import org.example.quickcourtbackend.models.Facility;
+import org.example.quickcourtbackend.repositories.CourtRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Read model of every court with its facility's name and city, plus secondary indexes by city,
+ * sport and facility so searches only touch matching courts.
+ */
+@Slf4j
+@Service
+public class CourtCatalog {
+
+    private final CourtRepository courtRepository;
+
+    private final Map<String, CourtEntry> courts = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byCity = new ConcurrentHashMap<>();
+    private final Map<SportType, Set<String>> bySport = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byFacility = new ConcurrentHashMap<>();
+
+    public CourtCatalog(CourtRepository courtRepository) {
+        this.courtRepository = courtRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<CourtCatalogProjection> rows = courtRepository.findCatalog();
+
+        synchronized (this) {
+            courts.clear();
+            byCity.clear();
+            bySport.clear();
+            byFacility.clear();
+            rows.forEach(row -> index(new CourtEntry(row.getId(), row.getName(), row.getSportType(),
+                    row.getPricePerHour(), row.getPhotoUrl(), row.getFacilityId(), row.getFacilityName(), row.getCity())));
+        }
+        log.info("Court catalog rebuilt with {} courts in {} ms", rows.size(), System.currentTimeMillis() - started);
+    }
+
+    public synchronized void put(Court court) {
+        Facility facility = court.getFacility();
+        remove(court.getId());
+        index(new CourtEntry(court.getId(), court.getName(), court.getSportType(), court.getPricePerHour(),
+                court.getPhotoUrl(), facility.getId(), facility.getName(), facility.getCity()));
+    }
+
+    public synchronized void remove(String courtId) {
+        CourtEntry previous = courts.remove(courtId);
+        if (previous != null) {
+            unlink(byCity, cityKey(previous.city()), courtId);
+            unlink(bySport, previous.sportType(), courtId);
+            unlink(byFacility, previous.facilityId(), courtId);
+        }
+    }
+
+    /**
+     * Re-denormalises the facility's name and city onto its courts.
+     */
+    public synchronized void updateFacility(Facility facility) {
+        for (String courtId : List.copyOf(byFacility.getOrDefault(facility.getId(), Set.of()))) {
+            CourtEntry entry = courts.get(courtId);
+            remove(courtId);
+            index(new CourtEntry(entry.courtId(), entry.name(), entry.sportType(), entry.pricePerHour(),
+                    entry.photoUrl(), facility.getId(), facility.getName(), facility.getCity()));
+        }
+    }
+
+    public CourtEntry get(String courtId) {
+        return courts.get(courtId);
+    }
+
+    public Set<String> courtIdsOfFacility(String facilityId) {
+        return Set.copyOf(byFacility.getOrDefault(facilityId, Set.of()));
+    }
+
+    /**
+     * Courts matching the optional city and sport that also satisfy {@code filter}, cheapest first.
+     */
+    public List<CourtEntry> find(String city, SportType sportType, Predicate<CourtEntry> filter) {
+        Collection<String> candidates = smallest(
+                city != null ? byCity.getOrDefault(cityKey(city), Set.of()) : null,
+                sportType != null ? bySport.getOrDefault(sportType, Set.of()) : null);
+
+        return (candidates != null ? candidates.stream().map(courts::get) : courts.values().stream())
+                .filter(entry -> entry != null
+                        && (city == null || cityKey(city).equals(cityKey(entry.city())))
+                        && (sportType == null || sportType == entry.sportType())
+                        && filter.test(entry))
+                .sorted(Comparator.comparing(CourtEntry::pricePerHour, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(CourtEntry::facilityName, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(CourtEntry::courtId))
+                .collect(Collectors.toList());
+    }
+
+    private void index(CourtEntry entry) {
+        courts.put(entry.courtId(), entry);
+        link(byCity, cityKey(entry.city()), entry.courtId());
+        link(bySport, entry.sportType(), entry.courtId());
+        link(byFacility, entry.facilityId(), entry.courtId());
+    }
+
+    private static <K> void link(Map<K, Set<String>> index, K key, String courtId) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(courtId);
+        }
+    }
+
+    private static <K> void unlink(Map<K, Set<String>> index, K key, String courtId) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, ids) -> {
+                ids.remove(courtId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Collection<String> smallest(Set<String> first, Set<String> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first.size() <= second.size() ? first : second;
+    }
+
+    private static String cityKey(String city) {
+        return city == null ? null : city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record CourtEntry(String courtId, String name, SportType sportType, Double pricePerHour, String photoUrl,
+                             String facilityId, String facilityName, String city) {
+
+        public CourtSearchResultDto toDto() {
+            return CourtSearchResultDto.builder()
+                    .courtId(courtId)
+                    .courtName(name)
+                    .sportType(sportType != null ? sportType.name() : null)
+                    .pricePerHour(pricePerHour)
+                    .photoUrl(photoUrl)
+                    .facilityId(facilityId)
+                    .facilityName(facilityName)
+                    .city(city)
+                    .build();
+        }
+    }
+}
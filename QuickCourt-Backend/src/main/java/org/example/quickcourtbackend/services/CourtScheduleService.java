@@ -0,0 +1,209 @@
+package org.example.quickcourtbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.CourtScheduleDto;
+import org.example.quickcourtbackend.dtos.ScheduleExceptionDto;
+import org.example.quickcourtbackend.dtos.WeeklyRuleDto;
+import org.example.quickcourtbackend.helper.CompiledSchedule;
+import org.example.quickcourtbackend.models.Court;
+import org.example.quickcourtbackend.models.ScheduleException;
+import org.example.quickcourtbackend.models.ScheduleRule;
+import org.example.quickcourtbackend.repositories.CourtRepository;
+import org.example.quickcourtbackend.repositories.ScheduleExceptionRepository;
+import org.example.quickcourtbackend.repositories.ScheduleRuleRepository;
+import org.example.quickcourtbackend.services.AvailabilityIndex.CourtSlot;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly opening rules plus dated exceptions per court, compiled into a {@link CompiledSchedule}. Every
+ * court's schedule is loaded in bulk at startup and recompiled when it is replaced here; a background reload
+ * picks up schedules replaced through other nodes, so lookups never touch the database once loaded.
+ * Courts without weekly rules are open around the clock.
+ */
+@Slf4j
+@Service
+public class CourtScheduleService {
+
+    private final CourtRepository courtRepository;
+    private final ScheduleRuleRepository scheduleRuleRepository;
+    private final ScheduleExceptionRepository scheduleExceptionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Courts with a schedule; any other court is always open once the first load is done
+    private final Map<String, CompiledSchedule> compiled = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public CourtScheduleService(CourtRepository courtRepository, ScheduleRuleRepository scheduleRuleRepository,
+                                ScheduleExceptionRepository scheduleExceptionRepository,
+                                TransactionTemplate transactionTemplate) {
+        this.courtRepository = courtRepository;
+        this.scheduleRuleRepository = scheduleRuleRepository;
+        this.scheduleExceptionRepository = scheduleExceptionRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Compiles every stored schedule from two queries and swaps it in. An entry replaced on this node while
+     * the rows were being read is left alone, since the rows may predate it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${schedule.reload-ms:300000}", initialDelayString = "${schedule.reload-ms:300000}")
+    public synchronized void reload() {
+        long started = System.currentTimeMillis();
+        Map<String, CompiledSchedule> before = new HashMap<>(compiled);
+
+        Map<String, List<WeeklyRuleDto>> rules = new HashMap<>();
+        for (ScheduleRule rule : scheduleRuleRepository.findAll()) {
+            rules.computeIfAbsent(rule.getCourt().getId(), courtId -> new ArrayList<>())
+                    .add(new WeeklyRuleDto(rule.getDayOfWeek(), rule.getOpenTime(), rule.getCloseTime()));
+        }
+        Map<String, List<ScheduleExceptionDto>> exceptions = new HashMap<>();
+        for (ScheduleException e : scheduleExceptionRepository.findAll()) {
+            exceptions.computeIfAbsent(e.getCourt().getId(), courtId -> new ArrayList<>())
+                    .add(new ScheduleExceptionDto(e.getStartDate(), e.getEndDate(), e.getOpenTime(), e.getCloseTime()));
+        }
+
+        Set<String> courtIds = new HashSet<>(before.keySet());
+        courtIds.addAll(rules.keySet());
+        courtIds.addAll(exceptions.keySet());
+        for (String courtId : courtIds) {
+            CompiledSchedule schedule;
+            try {
+                schedule = compile(rules.getOrDefault(courtId, List.of()), exceptions.getOrDefault(courtId, List.of()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping invalid schedule of court {}: {}", courtId, e.getMessage());
+                continue;
+            }
+            CompiledSchedule previous = before.get(courtId);
+            if (previous == null) {
+                compiled.putIfAbsent(courtId, schedule);
+            } else {
+                compiled.replace(courtId, previous, schedule);
+            }
+        }
+        loaded = true;
+        log.info("Schedules of {} courts compiled in {} ms", courtIds.size(), System.currentTimeMillis() - started);
+    }
+
+    public CompiledSchedule scheduleFor(String courtId) {
+        CompiledSchedule schedule = compiled.get(courtId);
+        if (schedule != null) {
+            return schedule;
+        }
+        // Only before the first load finishes
+        return loaded ? CompiledSchedule.ALWAYS_OPEN : compiled.computeIfAbsent(courtId, this::compile);
+    }
+
+    public boolean isOpen(CourtSlot slot) {
+        return scheduleFor(slot.courtId()).isOpen(slot.date(), slot.startTime(), slot.endTime());
+    }
+
+    public CourtScheduleDto getSchedule(String courtId) {
+        if (!courtRepository.existsById(courtId)) {
+            throw new RuntimeException("Court not found");
+        }
+        return CourtScheduleDto.builder()
+                .weeklyRules(scheduleRuleRepository.findByCourtId(courtId).stream()
+                        .map(rule -> new WeeklyRuleDto(rule.getDayOfWeek(), rule.getOpenTime(), rule.getCloseTime()))
+                        .collect(Collectors.toList()))
+                .exceptions(scheduleExceptionRepository.findByCourtId(courtId).stream()
+                        .map(e -> new ScheduleExceptionDto(e.getStartDate(), e.getEndDate(), e.getOpenTime(), e.getCloseTime()))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Replaces the court's whole schedule. The new rules are compiled up front so invalid input is rejected
+     * before anything is written.
+     */
+    public CourtScheduleDto replaceSchedule(String courtId, CourtScheduleDto dto) {
+        Court court = courtRepository.findById(courtId)
+                .orElseThrow(() -> new RuntimeException("Court not found"));
+        List<WeeklyRuleDto> rules = dto.getWeeklyRules() != null ? dto.getWeeklyRules() : List.of();
+        List<ScheduleExceptionDto> exceptions = dto.getExceptions() != null ? dto.getExceptions() : List.of();
+
+        CompiledSchedule schedule;
+        try {
+            schedule = compile(rules, exceptions);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid schedule: " + e.getMessage());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            scheduleRuleRepository.deleteByCourtId(courtId);
+            scheduleExceptionRepository.deleteByCourtId(courtId);
+            scheduleRuleRepository.saveAll(rules.stream()
+                    .map(rule -> ScheduleRule.builder()
+                            .court(court)
+                            .dayOfWeek(rule.getDayOfWeek())
+                            .openTime(rule.getOpenTime())
+                            .closeTime(rule.getCloseTime())
+                            .build())
+                    .collect(Collectors.toList()));
+            scheduleExceptionRepository.saveAll(exceptions.stream()
+                    .map(e -> ScheduleException.builder()
+                            .court(court)
+                            .startDate(e.getStartDate())
+                            .endDate(e.getEndDate() != null ? e.getEndDate() : e.getStartDate())
+                            .openTime(e.getOpenTime())
+                            .closeTime(e.getCloseTime())
+                            .build())
+                    .collect(Collectors.toList()));
+        });
+        compiled.put(courtId, schedule);
+        return getSchedule(courtId);
+    }
+
+    public void evict(String courtId) {
+        compiled.remove(courtId);
+    }
+
+    private CompiledSchedule compile(String courtId) {
+        List<WeeklyRuleDto> rules = scheduleRuleRepository.findByCourtId(courtId).stream()
+                .map(rule -> new WeeklyRuleDto(rule.getDayOfWeek(), rule.getOpenTime(), rule.getCloseTime()))
+                .collect(Collectors.toList());
+        List<ScheduleExceptionDto> exceptions = scheduleExceptionRepository.findByCourtId(courtId).stream()
+                .map(e -> new ScheduleExceptionDto(e.getStartDate(), e.getEndDate(), e.getOpenTime(), e.getCloseTime()))
+                .collect(Collectors.toList());
+        return compile(rules, exceptions);
+    }
+
+    private static CompiledSchedule compile(List<WeeklyRuleDto> rules, List<ScheduleExceptionDto> exceptions) {
+        if (rules.isEmpty() && exceptions.isEmpty()) {
+            return CompiledSchedule.ALWAYS_OPEN;
+        }
+        CompiledSchedule.Builder builder = CompiledSchedule.builder();
+        for (WeeklyRuleDto rule : rules) {
+            if (rule.getDayOfWeek() == null) {
+                throw new IllegalArgumentException("Weekly rules need a dayOfWeek");
+            }
+            builder.open(rule.getDayOfWeek(), rule.getOpenTime(), rule.getCloseTime());
+        }
+        for (ScheduleExceptionDto e : exceptions) {
+            if (e.getStartDate() == null) {
+                throw new IllegalArgumentException("Exceptions need a startDate");
+            }
+            if ((e.getOpenTime() == null) != (e.getCloseTime() == null)) {
+                throw new IllegalArgumentException("Exceptions need both openTime and closeTime, or neither to close");
+            }
+            builder.exception(e.getStartDate(), e.getEndDate() != null ? e.getEndDate() : e.getStartDate(),
+                    e.getOpenTime(), e.getCloseTime());
+        }
+        return builder.build();
+    }
+}
@@ -1,18 +1,33 @@
 package org.example.quickcourtbackend.services;
 
+import org.example.quickcourtbackend.dtos.CourtChildIdProjection;
+import org.example.quickcourtbackend.dtos.CourtCountProjection;
 import org.example.quickcourtbackend.dtos.CourtRequestDto;
 import org.example.quickcourtbackend.dtos.CourtResponseDto;
+import org.example.quickcourtbackend.dtos.CourtSearchResultDto;
+import org.example.quickcourtbackend.dtos.CourtSummaryProjection;
+import org.example.quickcourtbackend.dtos.PageResponseDto;
+import org.example.quickcourtbackend.dtos.TimeSlotDto;
+import org.example.quickcourtbackend.repositories.BookingRepository;
 import org.example.quickcourtbackend.repositories.CourtRepository;
 import org.example.quickcourtbackend.repositories.FacilityRepository;
+import org.example.quickcourtbackend.repositories.MatchRepository;
 import org.example.quickcourtbackend.enums.SportType;
-import org.example.quickcourtbackend.models.Availability;
-import org.example.quickcourtbackend.models.Booking;
 import org.example.quickcourtbackend.models.Court;
-import org.example.quickcourtbackend.models.Match;
+import org.example.quickcourtbackend.services.AvailabilityIndex.CourtSlot;
+import org.example.quickcourtbackend.services.CourtCatalog.CourtEntry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +39,27 @@ public class CourtService {
     @Autowired
     private FacilityRepository facilityRepository;
 
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private CourtCatalog courtCatalog;
+
+    @Autowired
+    private CourtScheduleService courtScheduleService;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int READ_BATCH_SIZE = 500;
+
 
     public CourtResponseDto createCourt(CourtRequestDto dto) {
         Court court = new Court();
@@ -35,22 +71,34 @@ public class CourtService {
         court.setOperatingHours(dto.getOperatingHours());
         court.setPhotoUrl(dto.getPhotoUrl());
         Court saved = courtRepository.save(court);
-        return mapToResponseDto(saved);
+        courtCatalog.put(saved);
+        searchIndex.putCourt(saved);
+        return getCourtById(saved.getId());
     }
 
 
     public CourtResponseDto getCourtById(String id) {
-        Court court = courtRepository.findById(id)
+        CourtSummaryProjection court = courtRepository.findSummaryById(id)
                 .orElseThrow(() -> new RuntimeException("Court not found"));
-        return mapToResponseDto(court);
+        return mapToResponseDtos(List.of(court)).get(0);
     }
 
 
+    /**
+     * Reads courts as projections in id order, READ_BATCH_SIZE at a time, with three aggregated queries per
+     * batch for availability ids and booking and match counts. No entity or lazy collection is loaded.
+     */
     public List<CourtResponseDto> getAllCourts() {
-        return courtRepository.findAll()
-                .stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+        List<CourtResponseDto> courts = new ArrayList<>();
+        String afterId = null;
+        while (true) {
+            List<CourtSummaryProjection> batch = courtRepository.findSummaries(afterId, Limit.of(READ_BATCH_SIZE));
+            courts.addAll(mapToResponseDtos(batch));
+            if (batch.size() < READ_BATCH_SIZE) {
+                return courts;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
     }
 
 
@@ -67,33 +115,94 @@ public class CourtService {
         court.setPhotoUrl(dto.getPhotoUrl());
 
         Court updated = courtRepository.save(court);
-        return mapToResponseDto(updated);
+        courtCatalog.put(updated);
+        searchIndex.putCourt(updated);
+        return getCourtById(updated.getId());
     }
 
 
     public void deleteCourt(String id) {
         courtRepository.deleteById(id);
+        availabilityIndex.evictCourt(id);
+        courtCatalog.remove(id);
+        searchIndex.removeCourt(id);
+        courtScheduleService.evict(id);
     }
 
-    private CourtResponseDto mapToResponseDto(Court court) {
-        CourtResponseDto dto = new CourtResponseDto();
-        dto.setId(court.getId());
-        dto.setFacilityId(court.getFacility().getId());
-        dto.setName(court.getName());
-        dto.setSportType(court.getSportType().name());
-        dto.setPricePerHour(court.getPricePerHour());
-        dto.setOperatingHours(court.getOperatingHours());
-        dto.setPhotoUrl(court.getPhotoUrl());
+    public List<TimeSlotDto> getFreeSlots(String id, LocalDate date) {
+        if (!courtRepository.existsById(id)) {
+            throw new RuntimeException("Court not found");
+        }
+        return availabilityIndex.freeSlots(id, date, courtScheduleService.scheduleFor(id).openSlots(date));
+    }
 
-        dto.setAvailabilityIds(court.getAvailabilities() != null ?
-                court.getAvailabilities().stream().map(Availability::getId).collect(Collectors.toList()) : null);
+    public PageResponseDto<CourtSearchResultDto> searchFreeCourts(String city, String sportType,
+                                                                  LocalDate date, LocalTime startTime, LocalTime endTime,
+                                                                  Double minPrice, Double maxPrice, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((date == null) != (startTime == null) || (date == null) != (endTime == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date, startTime and endTime must be given together");
+        }
+        if (date != null && date.isBefore(LocalDate.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date must not be in the past");
+        }
+
+        SportType sport;
+        try {
+            sport = sportType != null ? SportType.valueOf(sportType.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sport type: " + sportType);
+        }
+
+        List<CourtEntry> matches = courtCatalog.find(city, sport, entry ->
+                (minPrice == null || (entry.pricePerHour() != null && entry.pricePerHour() >= minPrice))
+                        && (maxPrice == null || (entry.pricePerHour() != null && entry.pricePerHour() <= maxPrice))
+                        && (date == null || isBookable(new CourtSlot(entry.courtId(), date, startTime, endTime))));
+
+        List<CourtSearchResultDto> content = matches.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(CourtEntry::toDto)
+                .collect(Collectors.toList());
+        return new PageResponseDto<>(content, page, size, matches.size());
+    }
 
-        dto.setBookingIds(court.getBookings() != null ?
-                court.getBookings().stream().map(Booking::getId).collect(Collectors.toList()) : null);
+    private boolean isBookable(CourtSlot slot) {
+        return courtScheduleService.isOpen(slot) && availabilityIndex.isFree(slot);
+    }
 
-        dto.setMatchIds(court.getMatches() != null ?
-                court.getMatches().stream().map(Match::getId).collect(Collectors.toList()) : null);
+    private List<CourtResponseDto> mapToResponseDtos(List<CourtSummaryProjection> courts) {
+        if (courts.isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = courts.stream().map(CourtSummaryProjection::getId).toList();
+        Map<String, List<String>> availabilityIds = courtRepository.findAvailabilityIds(ids).stream()
+                .collect(Collectors.groupingBy(CourtChildIdProjection::getCourtId,
+                        Collectors.mapping(CourtChildIdProjection::getId, Collectors.toList())));
+        Map<String, Long> bookingCounts = toCountMap(bookingRepository.countByCourtIds(ids));
+        Map<String, Long> matchCounts = toCountMap(matchRepository.countByCourtIds(ids));
+
+        return courts.stream().map(court -> {
+            CourtResponseDto dto = new CourtResponseDto();
+            dto.setId(court.getId());
+            dto.setFacilityId(court.getFacilityId());
+            dto.setName(court.getName());
+            dto.setSportType(court.getSportType().name());
+            dto.setPricePerHour(court.getPricePerHour());
+            dto.setOperatingHours(court.getOperatingHours());
+            dto.setPhotoUrl(court.getPhotoUrl());
+            dto.setAvailabilityIds(availabilityIds.getOrDefault(court.getId(), List.of()));
+            dto.setBookingCount(bookingCounts.getOrDefault(court.getId(), 0L));
+            dto.setMatchCount(matchCounts.getOrDefault(court.getId(), 0L));
+            return dto;
+        }).collect(Collectors.toList());
+    }
 
-        return dto;
+    private static Map<String, Long> toCountMap(List<CourtCountProjection> counts) {
+        Map<String, Long> byCourt = new HashMap<>(counts.size() * 2);
+        counts.forEach(count -> byCourt.put(count.getCourtId(), count.getTotal()));
+        return byCourt;
     }
 }
@@ -0,0 +1,143 @@
+package org.example.quickcourtbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.helper.OtpStore;
+import org.example.quickcourtbackend.models.OtpCode;
+import org.example.quickcourtbackend.repositories.OtpCodeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * OTP store in the shared MySQL database, so a code sent by one node verifies on any node. Codes are kept as
+ * a keyed hash of email and code: a leaked table does not reveal them, and six digits cannot be brute-forced
+ * offline without the key. Counting an attempt and consuming a code are each one conditional statement, so
+ * concurrent guesses across nodes cannot exceed the limit or use a code twice. Expired rows are purged in
+ * batches along idx_otp_code_expires.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "otp.store", havingValue = "database")
+public class DatabaseOtpStore implements OtpStore {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final OtpCodeRepository otpCodeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SecretKeySpec hashKey;
+    private final int purgeBatchSize;
+
+    public DatabaseOtpStore(OtpCodeRepository otpCodeRepository, TransactionTemplate transactionTemplate,
+                            @Value("${otp.hash-secret:${jwt.secret}}") String hashSecret,
+                            @Value("${otp.purge-batch-size:500}") int purgeBatchSize) {
+        this.otpCodeRepository = otpCodeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.hashKey = new SecretKeySpec(hashSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Override
+    public boolean put(String email, String code, long expiresAtMillis) {
+        String codeHash = hash(email, code);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (otpCodeRepository.replace(email, codeHash, expiresAtMillis) == 0) {
+                    otpCodeRepository.saveAndFlush(OtpCode.builder()
+                            .email(email)
+                            .codeHash(codeHash)
+                            .expiresAt(expiresAtMillis)
+                            .attempts(0)
+                            .build());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the email's first row at the same moment; overwrite it
+            transactionTemplate.execute(status -> otpCodeRepository.replace(email, codeHash, expiresAtMillis));
+        }
+        return true;
+    }
+
+    @Override
+    public Result verify(String email, String code, int maxAttempts) {
+        long now = System.currentTimeMillis();
+        return transactionTemplate.execute(status -> {
+            if (otpCodeRepository.countAttempt(email, now, maxAttempts) == 0) {
+                OtpCode row = otpCodeRepository.findByEmail(email).orElse(null);
+                if (row == null) {
+                    return Result.NOT_FOUND;
+                }
+                otpCodeRepository.deleteSpent(email, now, maxAttempts);
+                return row.getExpiresAt() <= now ? Result.EXPIRED : Result.TOO_MANY_ATTEMPTS;
+            }
+            if (code != null && otpCodeRepository.consume(email, hash(email, code), now) == 1) {
+                return Result.VERIFIED;
+            }
+            return Result.INVALID;
+        });
+    }
+
+    @Override
+    public int attempts(String email) {
+        return otpCodeRepository.findByEmail(email)
+                .filter(row -> row.getExpiresAt() > System.currentTimeMillis())
+                .map(OtpCode::getAttempts)
+                .orElse(-1);
+    }
+
+    @Override
+    public boolean isExpired(String email) {
+        return otpCodeRepository.findByEmail(email)
+                .map(row -> row.getExpiresAt() <= System.currentTimeMillis())
+                .orElse(true);
+    }
+
+    @Override
+    public void remove(String email) {
+        transactionTemplate.execute(status -> otpCodeRepository.deleteByEmailAddress(email));
+    }
+
+    /**
+     * Deletes expired codes a batch at a time, one short transaction per batch. Every node may run it;
+     * deleting the same rows twice is harmless.
+     */
+    @Scheduled(fixedDelayString = "${otp.purge-interval-ms:60000}", initialDelayString = "${otp.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        List<String> ids;
+        do {
+            ids = otpCodeRepository.findExpiredIds(now, Limit.of(purgeBatchSize));
+            if (!ids.isEmpty()) {
+                List<String> batch = ids;
+                Integer deleted = transactionTemplate.execute(status -> otpCodeRepository.deleteByIds(batch));
+                purged += deleted != null ? deleted : 0;
+            }
+        } while (ids.size() == purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} expired OTP codes", purged);
+        }
+    }
+
+    private String hash(String email, String code) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hashKey);
+            mac.update(email.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(code.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.quickcourtbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.FacilityLocationProjection;
+import org.example.quickcourtbackend.dtos.NearbyFacilityDto;
+import org.example.quickcourtbackend.dtos.PageResponseDto;
+import org.example.quickcourtbackend.helper.GeoGrid;
+import org.example.quickcourtbackend.models.Facility;
+import org.example.quickcourtbackend.repositories.FacilityRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * "Near me" lookups over facilities with coordinates, served from a {@link GeoGrid} kept in step with
+ * {@link FacilityService} writes. Facilities without coordinates are not indexed.
+ */
+@Slf4j
+@Service
+public class FacilityLocator {
+
+    // About 11 km at the equator; a city-sized search touches a handful of cells
+    private static final double CELL_DEGREES = 0.1;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_NEAREST = 200;
+
+    private final FacilityRepository facilityRepository;
+
+    private final GeoGrid grid = new GeoGrid(CELL_DEGREES);
+    private final Map<String, Location> locations = new ConcurrentHashMap<>();
+
+    public FacilityLocator(FacilityRepository facilityRepository) {
+        this.facilityRepository = facilityRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        List<FacilityLocationProjection> rows = facilityRepository.findLocations();
+        grid.clear();
+        locations.clear();
+        rows.forEach(row -> index(new Location(row.getId(), row.getName(), row.getAddress(), row.getCity(),
+                row.getLatitude(), row.getLongitude())));
+        log.info("Facility locator rebuilt with {} facilities in {} ms", grid.size(), System.currentTimeMillis() - started);
+    }
+
+    public synchronized void put(Facility facility) {
+        remove(facility.getId());
+        if (facility.getLatitude() != null && facility.getLongitude() != null) {
+            index(new Location(facility.getId(), facility.getName(), facility.getAddress(), facility.getCity(),
+                    facility.getLatitude(), facility.getLongitude()));
+        }
+    }
+
+    public synchronized void remove(String facilityId) {
+        grid.remove(facilityId);
+        locations.remove(facilityId);
+    }
+
+    public PageResponseDto<NearbyFacilityDto> withinRadius(double latitude, double longitude, double radiusKm,
+                                                           int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!(radiusKm > 0) || radiusKm > GeoGrid.MAX_DISTANCE_KM) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Radius must be positive and at most "
+                    + Math.round(GeoGrid.MAX_DISTANCE_KM) + " km");
+        }
+        List<GeoGrid.Hit> hits = query(() -> grid.withinRadius(latitude, longitude, radiusKm));
+        List<NearbyFacilityDto> content = hits.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(this::toDto)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageResponseDto<>(content, page, size, hits.size());
+    }
+
+    public List<NearbyFacilityDto> nearest(double latitude, double longitude, int k) {
+        if (k < 1 || k > MAX_NEAREST) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "k must be between 1 and " + MAX_NEAREST);
+        }
+        return query(() -> grid.nearest(latitude, longitude, k)).stream()
+                .map(this::toDto)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static List<GeoGrid.Hit> query(Supplier<List<GeoGrid.Hit>> search) {
+        try {
+            return search.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private void index(Location location) {
+        try {
+            grid.put(location.id(), location.latitude(), location.longitude());
+            locations.put(location.id(), location);
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping facility {} with invalid coordinates: {}", location.id(), e.getMessage());
+        }
+    }
+
+    // Null when the facility was removed between the grid lookup and now
+    private NearbyFacilityDto toDto(GeoGrid.Hit hit) {
+        Location location = locations.get(hit.id());
+        if (location == null) {
+            return null;
+        }
+        return new NearbyFacilityDto(location.id(), location.name(), location.address(), location.city(),
+                location.latitude(), location.longitude(), hit.distanceKm());
+    }
+
+    private record Location(String id, String name, String address, String city, double latitude, double longitude) {
+    }
+}
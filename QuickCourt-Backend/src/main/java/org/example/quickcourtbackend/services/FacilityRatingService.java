@@ -0,0 +1,147 @@
+package org.example.quickcourtbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.FacilityRatingDto;
+import org.example.quickcourtbackend.dtos.RatingAggregateProjection;
+import org.example.quickcourtbackend.models.FacilityRating;
+import org.example.quickcourtbackend.repositories.FacilityRatingRepository;
+import org.example.quickcourtbackend.repositories.ReviewRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-facility review count, rating sum and 1-5 histogram. Review writes apply +1/-1 deltas with a single
+ * UPDATE inside their own transaction; reads are one row per facility regardless of how many reviews it has.
+ */
+@Slf4j
+@Service
+public class FacilityRatingService {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final FacilityRatingRepository facilityRatingRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public FacilityRatingService(FacilityRatingRepository facilityRatingRepository, ReviewRepository reviewRepository,
+                                 TransactionTemplate transactionTemplate) {
+        this.facilityRatingRepository = facilityRatingRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Creates aggregates for facilities that predate them, computed once from their reviews. Each batch is
+     * one transaction of conditional inserts, so a facility whose aggregate another node or a concurrent
+     * review created meanwhile is skipped on its own rather than failing the batch.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<String> missing = facilityRatingRepository.findFacilityIdsWithoutRating();
+        int created = 0;
+        for (int from = 0; from < missing.size(); from += BACKFILL_BATCH_SIZE) {
+            List<String> batch = missing.subList(from, Math.min(from + BACKFILL_BATCH_SIZE, missing.size()));
+            Map<String, RatingAggregateProjection> aggregates = reviewRepository.aggregateByFacilityIds(batch).stream()
+                    .collect(Collectors.toMap(RatingAggregateProjection::getFacilityId, Function.identity()));
+            Integer inserted = transactionTemplate.execute(status -> batch.stream()
+                    .mapToInt(id -> insertIfAbsent(fromAggregate(id, aggregates.get(id))))
+                    .sum());
+            created += inserted != null ? inserted : 0;
+        }
+        if (!missing.isEmpty()) {
+            log.info("Backfilled rating aggregates for {} of {} facilities; the rest were created concurrently",
+                    created, missing.size());
+        }
+    }
+
+    public void initialize(String facilityId) {
+        facilityRatingRepository.save(fromAggregate(facilityId, null));
+    }
+
+    /**
+     * Adds ({@code delta} = 1) or removes ({@code delta} = -1) one review with the given rating. Ratings
+     * outside 1-5, which only legacy rows can hold, are not part of the aggregate.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(String facilityId, Integer rating, int delta) {
+        if (rating == null || rating < 1 || rating > 5) {
+            return;
+        }
+        long[] stars = new long[5];
+        stars[rating - 1] = delta;
+        int updated = facilityRatingRepository.applyDelta(facilityId, delta, (long) delta * rating,
+                stars[0], stars[1], stars[2], stars[3], stars[4]);
+        if (updated == 0) {
+            // No aggregate yet: the review rows, including this change, are the full picture
+            List<RatingAggregateProjection> aggregates = reviewRepository.aggregateByFacilityIds(List.of(facilityId));
+            int inserted = insertIfAbsent(fromAggregate(facilityId, aggregates.isEmpty() ? null : aggregates.get(0)));
+            if (inserted == 0) {
+                // A concurrent review created it from rows that cannot include this uncommitted change
+                facilityRatingRepository.applyDelta(facilityId, delta, (long) delta * rating,
+                        stars[0], stars[1], stars[2], stars[3], stars[4]);
+            }
+        }
+    }
+
+    public static void validateRating(Integer rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rating must be between 1 and 5");
+        }
+    }
+
+    public FacilityRatingDto ratingOf(String facilityId) {
+        return facilityRatingRepository.findByFacilityId(facilityId)
+                .map(FacilityRatingService::toDto)
+                .orElseGet(FacilityRatingService::empty);
+    }
+
+    public Map<String, FacilityRatingDto> ratingsOf(Collection<String> facilityIds) {
+        return facilityRatingRepository.findByFacilityIdIn(facilityIds).stream()
+                .collect(Collectors.toMap(FacilityRating::getFacilityId, FacilityRatingService::toDto));
+    }
+
+    public static FacilityRatingDto empty() {
+        return new FacilityRatingDto(0, null, List.of(0L, 0L, 0L, 0L, 0L));
+    }
+
+    private int insertIfAbsent(FacilityRating aggregate) {
+        return facilityRatingRepository.insertIfAbsent(UUID.randomUUID().toString(), aggregate.getFacilityId(),
+                aggregate.getReviewCount(), aggregate.getRatingSum(), aggregate.getStars1(), aggregate.getStars2(),
+                aggregate.getStars3(), aggregate.getStars4(), aggregate.getStars5());
+    }
+
+    private static FacilityRating fromAggregate(String facilityId, RatingAggregateProjection aggregate) {
+        if (aggregate == null) {
+            return FacilityRating.builder().facilityId(facilityId).build();
+        }
+        return FacilityRating.builder()
+                .facilityId(facilityId)
+                .reviewCount(aggregate.getReviewCount())
+                .ratingSum(aggregate.getRatingSum())
+                .stars1(aggregate.getStars1())
+                .stars2(aggregate.getStars2())
+                .stars3(aggregate.getStars3())
+                .stars4(aggregate.getStars4())
+                .stars5(aggregate.getStars5())
+                .build();
+    }
+
+    private static FacilityRatingDto toDto(FacilityRating rating) {
+        return new FacilityRatingDto(rating.getReviewCount(),
+                rating.getReviewCount() > 0 ? (double) rating.getRatingSum() / rating.getReviewCount() : null,
+                List.of(rating.getStars1(), rating.getStars2(), rating.getStars3(), rating.getStars4(), rating.getStars5()));
+    }
+}
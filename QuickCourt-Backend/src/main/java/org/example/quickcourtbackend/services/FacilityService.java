@@ -5,6 +5,7 @@ import org.example.quickcourtbackend.enums.VerificationStatus;
 import org.example.quickcourtbackend.models.Facility;
 import org.example.quickcourtbackend.models.User;
 import org.example.quickcourtbackend.dtos.CreateFacilityRequestDto;
+import org.example.quickcourtbackend.dtos.FacilityRatingDto;
 import org.example.quickcourtbackend.dtos.FacilityResponseDto;
 import org.example.quickcourtbackend.dtos.UpdateFacilityRequestDto;
 import org.example.quickcourtbackend.repositories.FacilityRepository;
@@ -13,6 +14,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -21,10 +23,20 @@ public class FacilityService {
 
     private final FacilityRepository facilityRepository;
     private final UserRepository userRepository;
+    private final CourtCatalog courtCatalog;
+    private final FacilityLocator facilityLocator;
+    private final SearchIndex searchIndex;
+    private final FacilityRatingService facilityRatingService;
 
-    public FacilityService(FacilityRepository facilityRepository, UserRepository userRepository) {
+    public FacilityService(FacilityRepository facilityRepository, UserRepository userRepository,
+                           CourtCatalog courtCatalog, FacilityLocator facilityLocator, SearchIndex searchIndex,
+                           FacilityRatingService facilityRatingService) {
         this.facilityRepository = facilityRepository;
         this.userRepository = userRepository;
+        this.courtCatalog = courtCatalog;
+        this.facilityLocator = facilityLocator;
+        this.searchIndex = searchIndex;
+        this.facilityRatingService = facilityRatingService;
     }
 
     public Facility createFacility(CreateFacilityRequestDto requestDto) {
@@ -43,16 +55,27 @@ public class FacilityService {
         facility.setLongitude(requestDto.getLongitude());
         facility.setZipCode(requestDto.getZipCode());
 
-        return facilityRepository.save(facility);
+        Facility saved = facilityRepository.save(facility);
+        facilityRatingService.initialize(saved.getId());
+        facilityLocator.put(saved);
+        searchIndex.putFacility(saved);
+        saved.setRating(FacilityRatingService.empty());
+        return saved;
     }
 
     public Facility getFacilityById(String id) {
-        return facilityRepository.findById(id)
+        Facility facility = facilityRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Facility not found with ID: " + id));
+        facility.setRating(facilityRatingService.ratingOf(id));
+        return facility;
     }
 
     public List<Facility> getAllFacilities() {
-        return facilityRepository.findAll();
+        List<Facility> facilities = facilityRepository.findAll();
+        Map<String, FacilityRatingDto> ratings = facilityRatingService.ratingsOf(
+                facilities.stream().map(Facility::getId).toList());
+        facilities.forEach(facility -> facility.setRating(ratings.getOrDefault(facility.getId(), FacilityRatingService.empty())));
+        return facilities;
     }
 
     public Facility updateFacility(String id, Facility updatedFacility) {
@@ -65,7 +88,12 @@ public class FacilityService {
         existing.setZipCode(updatedFacility.getZipCode());
         existing.setLatitude(updatedFacility.getLatitude());
         existing.setLongitude(updatedFacility.getLongitude());
-        return facilityRepository.save(existing);
+        Facility saved = facilityRepository.save(existing);
+        courtCatalog.updateFacility(saved);
+        facilityLocator.put(saved);
+        searchIndex.putFacility(saved);
+        saved.setRating(existing.getRating());
+        return saved;
     }
 
 }
\ No newline at end of file
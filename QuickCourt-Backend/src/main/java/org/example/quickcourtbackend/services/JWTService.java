@@ -1,69 +1,168 @@
-
 package org.example.quickcourtbackend.services;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.example.quickcourtbackend.enums.UserRole;
+import org.example.quickcourtbackend.helper.ExpiringCache;
+import org.example.quickcourtbackend.models.User;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JWTService {
 
-    @Value("${jwt.expiry:604800}") // Default 7 days
-    private int expiry;
-
-    @Value("${jwt.secret}")
-    private String SECRET;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String VERSION_CLAIM = "ver";
+    public static final String TYPE_CLAIM = "typ";
+    public static final String FAMILY_CLAIM = "fam";
+    public static final String REFRESH_TYPE = "refresh";
+
+    private static final int CACHE_SEGMENTS = 16;
+
+    private final long expiryMillis;
+    private final long refreshExpiryMillis;
+    private final SecretKey signKey;
+    private final JwtParser parser;
+    // Tokens that already passed verification, keyed by their SHA-256 so raw tokens are never kept
+    private final ExpiringCache<String, VerifiedToken> verified;
+
+    public JWTService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiry:900000}") long expiryMillis, // Default 15 minutes
+                      @Value("${jwt.refreshExpiry:604800000}") long refreshExpiryMillis, // Default 7 days
+                      @Value("${jwt.verified-cache-size:10000}") int verifiedCacheSize) {
+        this.expiryMillis = expiryMillis;
+        this.refreshExpiryMillis = refreshExpiryMillis;
+        // Use a consistent key size that matches HMAC-SHA-256 requirements
+        this.signKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signKey).build();
+        this.verified = new ExpiringCache<>(verifiedCacheSize, CACHE_SEGMENTS);
+    }
 
     public String createToken(String email) {
         return createToken(new HashMap<>(), email);
     }
 
+    /**
+     * Token carrying the user's id, role and token version, so requests can be authenticated from its
+     * claims without loading the user.
+     */
+    public String createToken(User user) {
+        return createToken(user.getId(), user.getEmail(), user.getRole(), user.getTokenVersion());
+    }
+
+    public String createToken(String userId, String email, UserRole role, int tokenVersion) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(USER_ID_CLAIM, userId);
+        if (role != null) {
+            payload.put(ROLE_CLAIM, role.name());
+        }
+        payload.put(VERSION_CLAIM, tokenVersion);
+        return createToken(payload, email);
+    }
+
     public String createToken(Map<String, Object> payload, String email) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiry * 1000L);
+        Date expiryDate = new Date(now.getTime() + expiryMillis);
 
         return Jwts.builder()
                 .claims(payload)
                 .subject(email)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
 
-    public Boolean validateTokenStructure(String token) {
+    /**
+     * Long-lived token that can only be exchanged at the refresh endpoint. It names the user and the rotation
+     * family it belongs to, and its id is what gets revoked when it is used.
+     */
+    public String createRefreshToken(String userId, String familyId, int tokenVersion) {
+        Date now = new Date();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(userId)
+                .claim(TYPE_CLAIM, REFRESH_TYPE)
+                .claim(FAMILY_CLAIM, familyId)
+                .claim(VERSION_CLAIM, tokenVersion)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + refreshExpiryMillis))
+                .signWith(signKey)
+                .compact();
+    }
+
+    /**
+     * Claims of a valid refresh token, or null for anything else, access tokens included.
+     */
+    public RefreshClaims verifyRefresh(String token) {
+        Claims claims;
         try {
-            extractAllPayloads(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
+        String familyId = claims.get(FAMILY_CLAIM, String.class);
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        if (!REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class)) || claims.getId() == null
+                || claims.getSubject() == null || familyId == null || version == null || claims.getExpiration() == null) {
+            return null;
+        }
+        return new RefreshClaims(claims.getId(), claims.getSubject(), familyId, version,
+                claims.getExpiration().getTime());
+    }
+
+    public long getExpiryMillis() {
+        return expiryMillis;
+    }
+
+    public long getRefreshExpiryMillis() {
+        return refreshExpiryMillis;
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
+    /**
+     * Checks signature and expiry with a single parse and returns the claims, or null for a malformed,
+     * forged or expired token. A token seen again is answered from a bounded cache until it expires.
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verified.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims;
         try {
-            final String email = extractEmail(token);
-            return email.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        // Every access token we issue has both; anything else, refresh tokens included, is not ours to trust
+        if (claims.getSubject() == null || claims.getExpiration() == null
+                || REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class))) {
+            return null;
         }
+        VerifiedToken result = new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant(), claims);
+        verified.put(key, result, claims.getExpiration().getTime());
+        return result;
     }
+
     public Claims extractAllPayloads(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
 
@@ -84,15 +183,30 @@ public class JWTService {
         return extractExpiration(token).before(new Date());
     }
 
-    private SecretKey getSignKey() {
-        // Use a consistent key size that matches HMAC-SHA-256 requirements
-        byte[] keyBytes = SECRET.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
 
     public Object extractPayload(String token, String payloadKey) {
         Claims claims = extractAllPayloads(token);
         return claims.get(payloadKey);
     }
-}
\ No newline at end of file
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Claims of a token whose signature and expiry have been checked.
+     */
+    public record VerifiedToken(String subject, Instant expiresAt, Claims claims) {
+    }
+
+    /**
+     * A refresh token's id, user, rotation family, user token version and expiry in epoch millis.
+     */
+    public record RefreshClaims(String tokenId, String userId, String familyId, int tokenVersion, long expiresAt) {
+    }
+}
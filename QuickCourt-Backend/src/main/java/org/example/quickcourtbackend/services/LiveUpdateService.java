@@ -0,0 +1,282 @@
+package org.example.quickcourtbackend.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.AvailabilityDeltaDto;
+import org.example.quickcourtbackend.dtos.MatchRosterDto;
+import org.example.quickcourtbackend.models.Match;
+import org.example.quickcourtbackend.repositories.FacilityRepository;
+import org.example.quickcourtbackend.repositories.MatchParticipantRepository;
+import org.example.quickcourtbackend.repositories.MatchRepository;
+import org.example.quickcourtbackend.services.CourtCatalog.CourtEntry;
+import org.example.quickcourtbackend.services.MatchService.MatchChanged;
+import org.example.quickcourtbackend.services.SlotAdmissionService.SlotClaimed;
+import org.example.quickcourtbackend.services.SlotAdmissionService.SlotReleased;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events for court availability and match rosters. Clients subscribe to one court, facility or
+ * match. Changes are collected per court-day and per match and flushed every {@code live.coalesce-ms}, so a
+ * burst of bookings on one court costs one push. Each subscriber has a bounded buffer drained by its own
+ * virtual thread; a subscriber that falls behind gets a single {@code resync} event instead of a backlog.
+ */
+@Slf4j
+@Service
+public class LiveUpdateService {
+
+    private static final String COURT = "court:";
+    private static final String FACILITY = "facility:";
+    private static final String MATCH = "match:";
+    private static final Event RESYNC = new Event("resync", Map.of("reason", "Too many pending updates, refetch"));
+
+    private final AvailabilityIndex availabilityIndex;
+    private final CourtScheduleService courtScheduleService;
+    private final CourtCatalog courtCatalog;
+    private final FacilityRepository facilityRepository;
+    private final MatchRepository matchRepository;
+    private final MatchParticipantRepository matchParticipantRepository;
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Set<CourtDay> pendingCourtDays = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingMatches = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-update-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${live.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${live.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    @Value("${live.max-subscribers:20000}")
+    private int maxSubscribers;
+
+    public LiveUpdateService(AvailabilityIndex availabilityIndex, CourtScheduleService courtScheduleService,
+                             CourtCatalog courtCatalog, FacilityRepository facilityRepository,
+                             MatchRepository matchRepository, MatchParticipantRepository matchParticipantRepository,
+                             @Value("${live.coalesce-ms:250}") long coalesceMs) {
+        this.availabilityIndex = availabilityIndex;
+        this.courtScheduleService = courtScheduleService;
+        this.courtCatalog = courtCatalog;
+        this.facilityRepository = facilityRepository;
+        this.matchRepository = matchRepository;
+        this.matchParticipantRepository = matchParticipantRepository;
+        flusher.scheduleWithFixedDelay(this::flush, coalesceMs, coalesceMs, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribeCourt(String courtId) {
+        if (courtCatalog.get(courtId) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Court not found");
+        }
+        return subscribe(COURT + courtId);
+    }
+
+    public SseEmitter subscribeFacility(String facilityId) {
+        if (!facilityRepository.existsById(facilityId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Facility not found");
+        }
+        return subscribe(FACILITY + facilityId);
+    }
+
+    public SseEmitter subscribeMatch(String matchId) {
+        if (!matchRepository.existsById(matchId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Match not found");
+        }
+        return subscribe(MATCH + matchId);
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @EventListener
+    public void onSlotReleased(SlotReleased event) {
+        pendingCourtDays.add(new CourtDay(event.courtId(), event.date()));
+    }
+
+    @EventListener
+    public void onSlotClaimed(SlotClaimed event) {
+        pendingCourtDays.add(new CourtDay(event.courtId(), event.date()));
+    }
+
+    @EventListener
+    public void onMatchChanged(MatchChanged event) {
+        pendingMatches.add(event.matchId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.close(true)));
+    }
+
+    private SseEmitter subscribe(String topic) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live subscribers, retry later");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(topic, emitter);
+        emitter.onCompletion(() -> subscriber.close(false));
+        emitter.onTimeout(() -> subscriber.close(false));
+        emitter.onError(error -> subscriber.close(false));
+        // Tells the client it is live, so it can load the current state without missing a change
+        subscriber.offer(new Event("subscribed", Map.of("topic", topic)));
+        topics.computeIfAbsent(topic, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.writer = Thread.ofVirtual().name("sse-" + topic).start(subscriber::drain);
+        return emitter;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        topics.computeIfPresent(subscriber.topic, (key, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private void flush() {
+        try {
+            for (CourtDay courtDay : drain(pendingCourtDays)) {
+                CourtEntry court = courtCatalog.get(courtDay.courtId());
+                String facilityTopic = court != null ? FACILITY + court.facilityId() : null;
+                Set<Subscriber> courtSubscribers = topics.get(COURT + courtDay.courtId());
+                Set<Subscriber> facilitySubscribers = facilityTopic != null ? topics.get(facilityTopic) : null;
+                if (courtSubscribers == null && facilitySubscribers == null) {
+                    continue;
+                }
+                Event event = new Event("availability", new AvailabilityDeltaDto(courtDay.courtId(),
+                        court != null ? court.facilityId() : null, courtDay.date(),
+                        availabilityIndex.freeSlots(courtDay.courtId(), courtDay.date(),
+                                courtScheduleService.scheduleFor(courtDay.courtId()).openSlots(courtDay.date()))));
+                publish(courtSubscribers, event);
+                publish(facilitySubscribers, event);
+            }
+            for (String matchId : drain(pendingMatches)) {
+                Set<Subscriber> subscribers = topics.get(MATCH + matchId);
+                if (subscribers != null) {
+                    publish(subscribers, new Event("roster", roster(matchId)));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to flush live updates", e);
+        }
+    }
+
+    private MatchRosterDto roster(String matchId) {
+        Match match = matchRepository.findById(matchId).orElse(null);
+        if (match == null) {
+            return new MatchRosterDto(matchId, "DELETED", 0, 0, List.of());
+        }
+        return new MatchRosterDto(matchId, match.getStatus().name(), match.getCurrentPlayers(), match.getMaxPlayers(),
+                matchParticipantRepository.findUserIdsByMatchId(matchId));
+    }
+
+    private static void publish(Set<Subscriber> subscribers, Event event) {
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private static <T> List<T> drain(Set<T> pending) {
+        List<T> drained = new ArrayList<>();
+        for (T item : pending) {
+            if (pending.remove(item)) {
+                drained.add(item);
+            }
+        }
+        return drained;
+    }
+
+    private final class Subscriber {
+
+        private final String topic;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> buffer;
+        private volatile boolean closed;
+        private volatile Thread writer;
+
+        private Subscriber(String topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // Only the flusher thread offers once the subscriber is registered, so clear and re-offer cannot interleave
+        private void offer(Event event) {
+            if (!buffer.offer(event)) {
+                buffer.clear();
+                buffer.offer(RESYNC);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    Event event = buffer.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the emitter callbacks or the close below clean up
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close(true);
+            }
+        }
+
+        // The emitter only needs completing when the close did not come from one of its own callbacks
+        private void close(boolean completeEmitter) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            unsubscribe(this);
+            Thread thread = writer;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+            if (completeEmitter) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private record Event(String name, Object data) {
+    }
+
+    private record CourtDay(String courtId, LocalDate date) {
+    }
+}
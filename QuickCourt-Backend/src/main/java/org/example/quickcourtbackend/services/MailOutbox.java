@@ -0,0 +1,232 @@
+package org.example.quickcourtbackend.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.helper.CircuitBreaker;
+import org.example.quickcourtbackend.helper.HashedTimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outgoing mail, sent off the request thread. {@link #enqueue} only puts the message on a bounded queue;
+ * a few virtual-thread workers drain it in batches, and each batch goes over one SMTP connection. Failed
+ * messages are retried with jittered exponential backoff. After repeated failed batches a circuit breaker
+ * stops sending for a while, so a dead SMTP server is probed instead of hammered and the queue fills and
+ * refuses new mail rather than piling up threads.
+ */
+@Slf4j
+@Service
+public class MailOutbox {
+
+    private static final long POLL_MS = 500;
+
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<Pending> queue;
+    private final CircuitBreaker breaker;
+    private final HashedTimingWheel<Pending> retryWheel;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+    private final long retryMaxMs;
+    private final long drainTimeoutMs;
+
+    private volatile boolean stopping;
+    private volatile long drainDeadline;
+
+    public MailOutbox(JavaMailSender mailSender, MeterRegistry meterRegistry,
+                      @Value("${mail.outbox.capacity:10000}") int capacity,
+                      @Value("${mail.outbox.workers:4}") int workerCount,
+                      @Value("${mail.outbox.batch-size:20}") int batchSize,
+                      @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+                      @Value("${mail.outbox.retry-base-ms:1000}") long retryBaseMs,
+                      @Value("${mail.outbox.retry-max-ms:60000}") long retryMaxMs,
+                      @Value("${mail.outbox.breaker.failure-threshold:5}") int failureThreshold,
+                      @Value("${mail.outbox.breaker.open-ms:30000}") long openMs,
+                      @Value("${mail.outbox.drain-timeout-ms:5000}") long drainTimeoutMs) {
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.breaker = new CircuitBreaker(failureThreshold, openMs);
+        this.retryWheel = new HashedTimingWheel<>("mail-retry-wheel", Duration.ofMillis(100), 512, this::requeue);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMs = retryBaseMs;
+        this.retryMaxMs = retryMaxMs;
+        this.drainTimeoutMs = drainTimeoutMs;
+
+        Gauge.builder("quickcourt.mail.outbox.depth", queue, BlockingQueue::size)
+                .description("Messages waiting in the mail outbox")
+                .register(meterRegistry);
+        Gauge.builder("quickcourt.mail.breaker.open", breaker, b -> b.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("1 while the SMTP circuit breaker is open or half open")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("quickcourt.mail.send.duration")
+                .description("Time to send one batch over SMTP")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("quickcourt.mail.delivery.duration")
+                .description("Time from enqueue to successful send, retries included")
+                .register(meterRegistry);
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("mail-outbox-" + i).start(this::work));
+        }
+    }
+
+    /**
+     * Queues the message and returns at once. False when the outbox is full or shutting down.
+     */
+    public boolean enqueue(SimpleMailMessage message) {
+        if (stopping || !queue.offer(new Pending(message, System.nanoTime()))) {
+            count("rejected", 1);
+            return false;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Give queued mail a short chance to go out before the workers stop
+        drainDeadline = System.currentTimeMillis() + drainTimeoutMs;
+        stopping = true;
+        retryWheel.close();
+        for (Thread worker : workers) {
+            try {
+                worker.join(drainTimeoutMs + POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.forEach(Thread::interrupt);
+        if (!queue.isEmpty()) {
+            log.warn("Mail outbox stopped with {} unsent messages", queue.size());
+        }
+    }
+
+    private void work() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (!(stopping && (queue.isEmpty() || System.currentTimeMillis() > drainDeadline) && batch.isEmpty())) {
+                if (batch.isEmpty()) {
+                    Pending first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                if (!breaker.tryAcquire()) {
+                    // Keep the batch and wait for the breaker to allow a trial
+                    Thread.sleep(Math.max(POLL_MS / 5, Math.min(POLL_MS, breaker.millisUntilTrial())));
+                    if (stopping && System.currentTimeMillis() > drainDeadline) {
+                        return;
+                    }
+                    continue;
+                }
+                send(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        SimpleMailMessage[] messages = batch.stream().map(Pending::message).toArray(SimpleMailMessage[]::new);
+        Map<Object, Exception> failed = Map.of();
+        boolean allFailed = false;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            // One connection for the whole batch
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages();
+            allFailed = failed.isEmpty() || failed.size() >= batch.size();
+            log.warn("Mail batch of {} had {} failures: {}", batch.size(), failed.isEmpty() ? batch.size() : failed.size(),
+                    e.getMessage());
+        } catch (MailException e) {
+            allFailed = true;
+            log.warn("Mail batch of {} failed: {}", batch.size(), e.getMessage());
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        // A batch with some deliveries means the server is up; bad recipients should not trip the breaker
+        if (allFailed) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+        long now = System.nanoTime();
+        int sent = 0;
+        for (Pending pending : batch) {
+            if (allFailed || failed.containsKey(pending.message())) {
+                retryLater(pending);
+            } else {
+                sent++;
+                deliveryTimer.record(now - pending.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        count("sent", sent);
+    }
+
+    private void retryLater(Pending pending) {
+        int attempts = pending.attempts() + 1;
+        if (attempts >= maxAttempts || stopping) {
+            count("dropped", 1);
+            log.error("Dropping mail to {} after {} attempts", String.join(",", recipients(pending)), attempts);
+            return;
+        }
+        // Exponential step, half of it random, so retries from one outage do not arrive together
+        long step = Math.min(retryMaxMs, retryBaseMs << Math.min(attempts - 1, 20));
+        long delay = step / 2 + ThreadLocalRandom.current().nextLong(step / 2 + 1);
+        retryWheel.schedule(new Pending(pending.message(), pending.enqueuedAtNanos(), attempts), Duration.ofMillis(delay));
+        count("retried", 1);
+    }
+
+    // Runs on the wheel thread; only a non-blocking offer
+    private void requeue(Pending pending) {
+        if (!queue.offer(pending)) {
+            count("dropped", 1);
+            log.error("Mail outbox full, dropping retry to {}", String.join(",", recipients(pending)));
+        }
+    }
+
+    private void count(String outcome, int amount) {
+        if (amount > 0) {
+            meterRegistry.counter("quickcourt.mail.messages", "outcome", outcome).increment(amount);
+        }
+    }
+
+    private static String[] recipients(Pending pending) {
+        String[] to = pending.message().getTo();
+        return to != null ? to : new String[0];
+    }
+
+    private record Pending(SimpleMailMessage message, long enqueuedAtNanos, int attempts) {
+        Pending(SimpleMailMessage message, long enqueuedAtNanos) {
+            this(message, enqueuedAtNanos, 0);
+        }
+    }
+}
@@ -3,15 +3,24 @@ package org.example.quickcourtbackend.services;
 import org.example.quickcourtbackend.enums.MatchStatus;
 import org.example.quickcourtbackend.models.Court;
 import org.example.quickcourtbackend.models.Match;
+import org.example.quickcourtbackend.models.MatchParticipant;
 import org.example.quickcourtbackend.models.User;
+import org.example.quickcourtbackend.dtos.MatchJoinRequestDto;
 import org.example.quickcourtbackend.dtos.MatchRequestDTO;
 import org.example.quickcourtbackend.dtos.MatchResponseDTO;
 import org.example.quickcourtbackend.repositories.CourtRepository;
+import org.example.quickcourtbackend.repositories.MatchParticipantRepository;
 import org.example.quickcourtbackend.repositories.MatchRepository;
 import org.example.quickcourtbackend.repositories.UserRepository;
+import org.example.quickcourtbackend.services.AvailabilityIndex.CourtSlot;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 @Service
@@ -20,15 +29,30 @@ public class MatchService {
     private final MatchRepository matchRepository;
     private final UserRepository userRepository;
     private final CourtRepository courtRepository;
+    private final SlotAdmissionService slotAdmissionService;
+    private final MatchParticipantRepository matchParticipantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OpenMatchIndex openMatchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MatchService(MatchRepository matchRepository, UserRepository userRepository, CourtRepository courtRepository) {
+    public MatchService(MatchRepository matchRepository, UserRepository userRepository, CourtRepository courtRepository,
+                        SlotAdmissionService slotAdmissionService, MatchParticipantRepository matchParticipantRepository,
+                        TransactionTemplate transactionTemplate, OpenMatchIndex openMatchIndex,
+                        ApplicationEventPublisher eventPublisher) {
         this.matchRepository = matchRepository;
         this.userRepository = userRepository;
         this.courtRepository = courtRepository;
+        this.slotAdmissionService = slotAdmissionService;
+        this.matchParticipantRepository = matchParticipantRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.openMatchIndex = openMatchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Transactional
     public Match createMatch(Match dto) {
+        if (dto.getMaxPlayers() == null || dto.getMaxPlayers() < 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A match needs room for at least 2 players");
+        }
         User creator = userRepository.findById(dto.getCreator().getId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         Court court = courtRepository.findById(dto.getCourt().getId())
@@ -44,21 +68,104 @@ public class MatchService {
         match.setCurrentPlayers(1);
         match.setStatus(MatchStatus.OPEN);
 
-        return matchRepository.save(match);
+        Match created = slotAdmissionService.admit(null, slotOf(match), () -> {
+            Match saved = matchRepository.save(match);
+            matchParticipantRepository.save(MatchParticipant.builder()
+                    .matchId(saved.getId())
+                    .userId(creator.getId())
+                    .build());
+            return saved;
+        });
+        openMatchIndex.put(created);
+        eventPublisher.publishEvent(new MatchChanged(created.getId()));
+        return created;
     }
 
-    @Transactional
     public Match updateMatch(String id, Match dto) {
         Match existingMatch = matchRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Match not found"));
+        CourtSlot previous = slotOf(existingMatch);
 
         if (dto.getDate() != null) existingMatch.setDate(dto.getDate());
         if (dto.getStartTime() != null) existingMatch.setStartTime(dto.getStartTime());
         if (dto.getEndTime() != null) existingMatch.setEndTime(dto.getEndTime());
-        if (dto.getMaxPlayers() != 0) existingMatch.setMaxPlayers(dto.getMaxPlayers());
+        if (dto.getMaxPlayers() != null && dto.getMaxPlayers() != 0) existingMatch.setMaxPlayers(dto.getMaxPlayers());
         if (dto.getStatus() != null) existingMatch.setStatus(dto.getStatus());
 
-        return matchRepository.save(existingMatch);
+        slotAdmissionService.admit(previous, slotOf(existingMatch), () -> {
+            Match saved = matchRepository.save(existingMatch);
+            // The status read above may predate concurrent joins or leaves
+            matchRepository.refreshCapacityStatus(saved.getId(), MatchStatus.OPEN, MatchStatus.FULL);
+            return saved;
+        });
+        Match updated = getMatchById(id);
+        openMatchIndex.put(updated);
+        eventPublisher.publishEvent(new MatchChanged(id));
+        return updated;
+    }
+
+    /**
+     * Adds the user to the match. The place is taken with a conditional UPDATE rather than a read-modify-write,
+     * so any number of simultaneous joiners fill the match exactly to {@code maxPlayers} and the rest get 409.
+     */
+    public Match joinMatch(String matchId, MatchJoinRequestDto dto) {
+        if (dto.getUserId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User is required");
+        }
+        Match match = getMatchById(matchId);
+        if (!userRepository.existsById(dto.getUserId())) {
+            throw new IllegalArgumentException("User not found");
+        }
+        if (match.getCreator().getId().equals(dto.getUserId())
+                || matchParticipantRepository.existsByMatchIdAndUserId(matchId, dto.getUserId())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "User has already joined this match");
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (matchRepository.takePlace(matchId, MatchStatus.OPEN, MatchStatus.FULL,
+                        now.toLocalDate(), now.toLocalTime()) == 0) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Match is full, cancelled or has already started");
+                }
+                matchParticipantRepository.saveAndFlush(MatchParticipant.builder()
+                        .matchId(matchId)
+                        .userId(dto.getUserId())
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // The same user joining twice at once; the place taken above was rolled back
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "User has already joined this match");
+        }
+        Match joined = getMatchById(matchId);
+        openMatchIndex.put(joined);
+        eventPublisher.publishEvent(new MatchChanged(matchId));
+        return joined;
+    }
+
+    public Match leaveMatch(String matchId, String userId) {
+        Match match = getMatchById(matchId);
+        if (match.getCreator().getId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The creator cannot leave; cancel the match instead");
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (matchParticipantRepository.deleteParticipant(matchId, userId) == 0) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User has not joined this match");
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (matchRepository.givePlace(matchId, MatchStatus.OPEN, MatchStatus.FULL,
+                    now.toLocalDate(), now.toLocalTime()) == 0) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Match is cancelled or has already started");
+            }
+        });
+        Match left = getMatchById(matchId);
+        openMatchIndex.put(left);
+        eventPublisher.publishEvent(new MatchChanged(matchId));
+        return left;
+    }
+
+    public List<String> getParticipants(String matchId) {
+        getMatchById(matchId);
+        return matchParticipantRepository.findUserIdsByMatchId(matchId);
     }
 
     public List<Match> getAllMatches() {
@@ -71,9 +178,26 @@ public class MatchService {
     }
 
     public void deleteMatch(String id) {
-        if (!matchRepository.existsById(id)) {
-            throw new IllegalArgumentException("Match not found");
+        Match match = matchRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Match not found"));
+        slotAdmissionService.release(slotOf(match), match.getId(), () -> {
+            matchParticipantRepository.deleteByMatch(match.getId());
+            matchRepository.delete(match);
+        });
+        openMatchIndex.remove(id);
+        eventPublisher.publishEvent(new MatchChanged(id));
+    }
+
+    private CourtSlot slotOf(Match match) {
+        if (match.getStatus() == MatchStatus.CANCELLED) {
+            return null;
         }
-        matchRepository.deleteById(id);
+        return new CourtSlot(match.getCourt().getId(), match.getDate(), match.getStartTime(), match.getEndTime());
+    }
+
+    /**
+     * A match or its roster changed, or it was deleted; published after the change committed.
+     */
+    public record MatchChanged(String matchId) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,323 @@
+package org.example.quickcourtbackend.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.OpenMatchDto;
+import org.example.quickcourtbackend.dtos.OpenMatchProjection;
+import org.example.quickcourtbackend.dtos.PageResponseDto;
+import org.example.quickcourtbackend.enums.MatchStatus;
+import org.example.quickcourtbackend.enums.SportType;
+import org.example.quickcourtbackend.helper.HashedTimingWheel;
+import org.example.quickcourtbackend.helper.StripedLocks;
+import org.example.quickcourtbackend.models.Match;
+import org.example.quickcourtbackend.repositories.MatchRepository;
+import org.example.quickcourtbackend.services.CourtCatalog.CourtEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * OPEN matches that have not started, indexed by court and by date. Sport and city are resolved through
+ * {@link CourtCatalog}, so a renamed facility or re-sported court shows up without re-indexing matches.
+ * Each match is evicted by a timing wheel when it starts; FULL, cancelled and deleted matches are removed
+ * by {@link MatchService} as they change. Changes made through other nodes arrive with the periodic sync
+ * by {@code updatedAt}; deletions there only show up with the slower full rebuild.
+ * Rows are always read before any lock is taken and applied under a per-match lock. When the last read
+ * applied to each match started, kept for a while after it leaves the index, stops an older read from
+ * overwriting a newer one; read start times are used rather than {@code updatedAt}, which some writes take
+ * from the database clock and others from this node's.
+ */
+@Slf4j
+@Service
+public class OpenMatchIndex {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int SYNC_CHUNK = 500;
+    private static final int STRIPES = 64;
+
+    private final MatchRepository matchRepository;
+    private final CourtCatalog courtCatalog;
+
+    private final Map<String, OpenMatch> matches = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byCourt = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, Set<String>> byDate = new ConcurrentSkipListMap<>();
+    private final Map<String, HashedTimingWheel.Timeout<String>> evictions = new ConcurrentHashMap<>();
+    // System.nanoTime() at which the last read applied per match started
+    private final Map<String, Long> applied = new ConcurrentHashMap<>();
+    private final StripedLocks locks = new StripedLocks(STRIPES);
+    private HashedTimingWheel<String> wheel;
+    private final long syncOverlapMs;
+
+    // Lower bound of the next sync window; 0 until the first rebuild
+    private volatile long syncedFrom;
+
+    public OpenMatchIndex(MatchRepository matchRepository, CourtCatalog courtCatalog,
+                          @Value("${matches.index.sync-overlap-ms:10000}") long syncOverlapMs) {
+        this.matchRepository = matchRepository;
+        this.courtCatalog = courtCatalog;
+        this.syncOverlapMs = syncOverlapMs;
+    }
+
+    // Not in the constructor: the wheel's thread starts at once and must never see a half-built index
+    @PostConstruct
+    public void startWheel() {
+        wheel = new HashedTimingWheel<>("open-match-wheel", Duration.ofSeconds(1), 512, this::evictIfStarted);
+    }
+
+    /**
+     * Reconciles the index with the OPEN rows: indexed matches that are gone, including ones deleted through
+     * another node, are dropped and the rest are re-indexed one by one rather than after clearing everything.
+     * A match indexed from a newer read while the snapshot was taken is kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${matches.index.rebuild-ms:600000}", initialDelayString = "${matches.index.rebuild-ms:600000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long readAt = System.nanoTime();
+        Map<String, OpenMatchProjection> open = new HashMap<>();
+        matchRepository.findByStatusFrom(MatchStatus.OPEN, LocalDate.now()).forEach(row -> open.put(row.getId(), row));
+
+        List.copyOf(matches.keySet()).stream()
+                .filter(id -> !open.containsKey(id))
+                .forEach(id -> apply(id, null, readAt));
+        open.values().forEach(row -> apply(row.getId(), row, readAt));
+        // Read times of matches no longer indexed only matter while an older read may still be in flight
+        long forgetBefore = readAt - TimeUnit.MILLISECONDS.toNanos(syncOverlapMs);
+        applied.entrySet().removeIf(entry -> entry.getValue() - forgetBefore < 0 && !matches.containsKey(entry.getKey()));
+        syncedFrom = started - syncOverlapMs;
+        log.info("Open match index rebuilt with {} matches in {} ms", matches.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Re-reads the matches changed on any node since the last sync. Each window reaches back by the overlap,
+     * so a write that committed after its {@code updatedAt} was already past is still seen; applying a row
+     * twice is harmless.
+     */
+    @Scheduled(fixedDelayString = "${matches.index.sync-ms:5000}", initialDelayString = "${matches.index.sync-ms:5000}")
+    public void syncChanges() {
+        long from = syncedFrom;
+        if (from == 0) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        List<String> changed = matchRepository.findIdsUpdatedSince(new Date(from));
+        for (int i = 0; i < changed.size(); i += SYNC_CHUNK) {
+            refresh(changed.subList(i, Math.min(i + SYNC_CHUNK, changed.size())));
+        }
+        syncedFrom = started - syncOverlapMs;
+    }
+
+    /**
+     * Indexes the match as it is now: kept if OPEN and not started, dropped otherwise. The row is re-read
+     * rather than taken from the caller, so two writers finishing out of order cannot leave the older state
+     * indexed.
+     */
+    public void put(Match match) {
+        refresh(List.of(match.getId()));
+    }
+
+    /**
+     * Drops a deleted match; a read of it that is still in flight cannot bring it back.
+     */
+    public void remove(String matchId) {
+        apply(matchId, null, System.nanoTime());
+    }
+
+    /**
+     * Open matches starting from {@code from} (today when null) through {@code to} with at least
+     * {@code minFreeSpots} places left, soonest first.
+     */
+    public PageResponseDto<OpenMatchDto> find(SportType sportType, String city, LocalDate from, LocalDate to,
+                                              int minFreeSpots, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (minFreeSpots < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minFreeSpots must be at least 1");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate start = from == null || from.isBefore(now.toLocalDate()) ? now.toLocalDate() : from;
+        if (to != null && to.isBefore(start)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must not be before start date");
+        }
+
+        // Sport and city narrow through the catalog's own indexes; otherwise the date range does
+        Collection<String> candidates = new ArrayList<>();
+        if (sportType != null || city != null) {
+            for (CourtEntry court : courtCatalog.find(city, sportType, entry -> byCourt.containsKey(entry.courtId()))) {
+                candidates.addAll(byCourt.getOrDefault(court.courtId(), Set.of()));
+            }
+        } else {
+            (to != null ? byDate.subMap(start, true, to, true) : byDate.tailMap(start, true))
+                    .values().forEach(candidates::addAll);
+        }
+
+        List<OpenMatch> hits = candidates.stream()
+                .map(matches::get)
+                .filter(match -> match != null
+                        && !match.date().isBefore(start)
+                        && (to == null || !match.date().isAfter(to))
+                        && match.startsAt().isAfter(now)
+                        && match.freeSpots() >= minFreeSpots)
+                .sorted(Comparator.comparing(OpenMatch::date).thenComparing(OpenMatch::startTime).thenComparing(OpenMatch::id))
+                .collect(Collectors.toList());
+        List<OpenMatchDto> content = hits.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(this::toDto)
+                .collect(Collectors.toList());
+        return new PageResponseDto<>(content, page, size, hits.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.close();
+    }
+
+    private void refresh(Collection<String> matchIds) {
+        long readAt = System.nanoTime();
+        Map<String, OpenMatchProjection> rows = new HashMap<>();
+        matchRepository.findIndexRowsByIds(matchIds).forEach(row -> rows.put(row.getId(), row));
+        // No row means the match was deleted
+        matchIds.forEach(matchId -> apply(matchId, rows.get(matchId), readAt));
+    }
+
+    /**
+     * Replaces the indexed state of one match with {@code row}, or drops it when the row is null or not OPEN,
+     * unless a read that started after {@code readAt} was applied already.
+     */
+    private void apply(String matchId, OpenMatchProjection row, long readAt) {
+        ReentrantLock lock = lockFor(matchId);
+        lock.lock();
+        try {
+            Long current = applied.get(matchId);
+            if (current != null && current - readAt > 0) {
+                return;
+            }
+            applied.put(matchId, readAt);
+            unindex(matchId);
+            if (row != null && row.getStatus() == MatchStatus.OPEN) {
+                index(toOpenMatch(row));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String matchId) {
+        return locks.locksFor(matchId.hashCode()).get(0);
+    }
+
+    private static OpenMatch toOpenMatch(OpenMatchProjection row) {
+        return new OpenMatch(row.getId(), row.getCourtId(), row.getDate(), row.getStartTime(), row.getEndTime(),
+                row.getMaxPlayers(), row.getCurrentPlayers());
+    }
+
+    private void index(OpenMatch match) {
+        Duration untilStart = Duration.between(LocalDateTime.now(), match.startsAt());
+        if (untilStart.isNegative() || untilStart.isZero()) {
+            return;
+        }
+        matches.put(match.id(), match);
+        link(byCourt, match.courtId(), match.id());
+        link(byDate, match.date(), match.id());
+        evictions.put(match.id(), wheel.schedule(match.id(), untilStart));
+    }
+
+    // Runs on the wheel thread; the check covers a match that was re-indexed with a later start meanwhile
+    private void evictIfStarted(String matchId) {
+        ReentrantLock lock = lockFor(matchId);
+        lock.lock();
+        try {
+            OpenMatch match = matches.get(matchId);
+            if (match != null && !match.startsAt().isAfter(LocalDateTime.now())) {
+                unindex(matchId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unindex(String matchId) {
+        OpenMatch previous = matches.remove(matchId);
+        if (previous != null) {
+            unlink(byCourt, previous.courtId(), matchId);
+            unlink(byDate, previous.date(), matchId);
+        }
+        HashedTimingWheel.Timeout<String> eviction = evictions.remove(matchId);
+        if (eviction != null) {
+            eviction.cancel();
+        }
+    }
+
+    private OpenMatchDto toDto(OpenMatch match) {
+        CourtEntry court = courtCatalog.get(match.courtId());
+        return OpenMatchDto.builder()
+                .id(match.id())
+                .courtId(match.courtId())
+                .courtName(court != null ? court.name() : null)
+                .sportType(court != null && court.sportType() != null ? court.sportType().name() : null)
+                .facilityId(court != null ? court.facilityId() : null)
+                .facilityName(court != null ? court.facilityName() : null)
+                .city(court != null ? court.city() : null)
+                .date(match.date())
+                .startTime(match.startTime())
+                .endTime(match.endTime())
+                .maxPlayers(match.maxPlayers())
+                .currentPlayers(match.currentPlayers())
+                .freeSpots(match.freeSpots())
+                .build();
+    }
+
+    // Both sides change the set inside compute, so a link cannot land in a set that unlink just dropped
+    private static <K> void link(Map<K, Set<String>> index, K key, String matchId) {
+        index.compute(key, (k, ids) -> {
+            Set<String> linked = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            linked.add(matchId);
+            return linked;
+        });
+    }
+
+    private static <K> void unlink(Map<K, Set<String>> index, K key, String matchId) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(matchId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private record OpenMatch(String id, String courtId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                             int maxPlayers, int currentPlayers) {
+
+        LocalDateTime startsAt() {
+            return LocalDateTime.of(date, startTime);
+        }
+
+        int freeSpots() {
+            return maxPlayers - currentPlayers;
+        }
+    }
+}
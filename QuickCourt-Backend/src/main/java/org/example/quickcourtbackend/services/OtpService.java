@@ -1,24 +1,18 @@
 package org.example.quickcourtbackend.services;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.example.quickcourtbackend.helper.OtpStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
-import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Instant;
 
 @Service
 @Slf4j
 public class OtpService {
 
-    @Autowired
-    private JavaMailSender mailSender;
-    
     @Value("${otp.expiry:300000}")
     private long otpExpiryMs;
     
@@ -31,11 +25,18 @@ public class OtpService {
     @Value("${spring.mail.username}")
     private String fromEmail;
     
-    // In-memory storage for OTP codes (in production, use Redis or database)
-    private final Map<String, OtpData> otpStorage = new ConcurrentHashMap<>();
-    
+    private final SecureRandom random = new SecureRandom();
+
+    // Node-local or shared, depending on otp.store
+    private final OtpStore otpStorage;
+    private final MailOutbox mailOutbox;
+
+    public OtpService(OtpStore otpStorage, MailOutbox mailOutbox) {
+        this.otpStorage = otpStorage;
+        this.mailOutbox = mailOutbox;
+    }
+
     public String generateOtp() {
-        SecureRandom random = new SecureRandom();
         StringBuilder otp = new StringBuilder();
         for (int i = 0; i < otpLength; i++) {
             otp.append(random.nextInt(10));
@@ -45,14 +46,17 @@ public class OtpService {
     
     public boolean sendOtp(String email) {
         String otp = null;
-        LocalDateTime expiryTime = null;
+        long expiresAt = 0;
         
         try {
             otp = generateOtp();
-            expiryTime = LocalDateTime.now().plusSeconds(otpExpiryMs / 1000);
+            expiresAt = System.currentTimeMillis() + otpExpiryMs;
             
             // Store OTP data
-            otpStorage.put(email, new OtpData(otp, expiryTime, 0));
+            if (!otpStorage.put(email, otp, expiresAt)) {
+                log.warn("Could not store OTP, not sending it to email: {}", email);
+                return false;
+            }
             
             // Send email
             SimpleMailMessage message = new SimpleMailMessage();
@@ -72,18 +76,22 @@ public class OtpService {
                 QuickCourt Team
                 """, otp, otpExpiryMs / 60000));
             
-            mailSender.send(message);
-            log.info("OTP sent successfully to email: {}", email);
+            // SMTP happens on the outbox workers; the request only waits for the enqueue
+            if (!mailOutbox.enqueue(message)) {
+                otpStorage.remove(email);
+                throw new IllegalStateException("Mail outbox is full");
+            }
+            log.info("OTP queued for email: {}", email);
             return true;
             
         } catch (Exception e) {
             log.error("Failed to send OTP to email: {}", email, e);
             // Fallback: log OTP to console for debugging
-            if (otp != null && expiryTime != null) {
+            if (otp != null && expiresAt > 0) {
                 log.info("=== OTP GENERATED FOR TESTING (Email failed) ===");
                 log.info("Email: {}", email);
                 log.info("OTP: {}", otp);
-                log.info("Expires: {}", expiryTime);
+                log.info("Expires: {}", Instant.ofEpochMilli(expiresAt));
                 log.info("===============================================");
             }
             return false;
@@ -91,62 +99,30 @@ public class OtpService {
     }
     
     public boolean verifyOtp(String email, String otp) {
-        OtpData otpData = otpStorage.get(email);
-        
-        if (otpData == null) {
-            log.warn("No OTP found for email: {}", email);
-            return false;
+        switch (otpStorage.verify(email, otp, maxAttempts)) {
+            case VERIFIED:
+                log.info("OTP verified successfully for email: {}", email);
+                return true;
+            case NOT_FOUND:
+                log.warn("No OTP found for email: {}", email);
+                return false;
+            case EXPIRED:
+                log.warn("OTP expired for email: {}", email);
+                return false;
+            case TOO_MANY_ATTEMPTS:
+                log.warn("Max OTP attempts exceeded for email: {}", email);
+                return false;
+            default:
+                log.warn("Invalid OTP attempt for email: {}, attempts: {}", email, otpStorage.attempts(email));
+                return false;
         }
-        
-        // Check if OTP is expired
-        if (LocalDateTime.now().isAfter(otpData.expiryTime)) {
-            log.warn("OTP expired for email: {}", email);
-            otpStorage.remove(email);
-            return false;
-        }
-        
-        // Check max attempts
-        if (otpData.attempts >= maxAttempts) {
-            log.warn("Max OTP attempts exceeded for email: {}", email);
-            otpStorage.remove(email);
-            return false;
-        }
-        
-        // Increment attempts
-        otpData.attempts++;
-        
-        // Verify OTP
-        if (otpData.otp.equals(otp)) {
-            log.info("OTP verified successfully for email: {}", email);
-            otpStorage.remove(email);
-            return true;
-        }
-        
-        log.warn("Invalid OTP attempt for email: {}, attempts: {}", email, otpData.attempts);
-        return false;
     }
     
     public boolean isOtpExpired(String email) {
-        OtpData otpData = otpStorage.get(email);
-        if (otpData == null) {
-            return true;
-        }
-        return LocalDateTime.now().isAfter(otpData.expiryTime);
+        return otpStorage.isExpired(email);
     }
     
     public void clearOtp(String email) {
         otpStorage.remove(email);
     }
-    
-    private static class OtpData {
-        private final String otp;
-        private final LocalDateTime expiryTime;
-        private int attempts;
-        
-        public OtpData(String otp, LocalDateTime expiryTime, int attempts) {
-            this.otp = otp;
-            this.expiryTime = expiryTime;
-            this.attempts = attempts;
-        }
-    }
 }
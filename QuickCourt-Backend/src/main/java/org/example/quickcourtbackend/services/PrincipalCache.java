@@ -0,0 +1,108 @@
+package org.example.quickcourtbackend.services;
+
+import io.jsonwebtoken.Claims;
+import org.example.quickcourtbackend.enums.UserRole;
+import org.example.quickcourtbackend.helper.ExpiringCache;
+import org.example.quickcourtbackend.helper.UserPrincipal;
+import org.example.quickcourtbackend.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+/**
+ * Builds request principals from verified token claims. Each user's current email, role and token version
+ * is cached for a short TTL, so a token issued before a role change or a deletion stops working at once on
+ * this node and within the TTL everywhere else, without a user lookup per request.
+ */
+@Service
+public class PrincipalCache {
+
+    private static final int CACHE_SEGMENTS = 16;
+    // Cached for deleted users too, so their leftover tokens do not reach the database on every request
+    private static final UserState DELETED = new UserState(null, null, -1);
+
+    private final UserRepository userRepository;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final long ttlMillis;
+    private final ExpiringCache<String, UserState> states;
+
+    public PrincipalCache(UserRepository userRepository, UserDetailsServiceImpl userDetailsService,
+                          @Value("${auth.principal-cache-ttl-ms:30000}") long ttlMillis,
+                          @Value("${auth.principal-cache-size:10000}") int capacity) {
+        this.userRepository = userRepository;
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttlMillis;
+        this.states = new ExpiringCache<>(capacity, CACHE_SEGMENTS);
+    }
+
+    /**
+     * The principal for a verified token, or null when the token has been revoked. Tokens issued before
+     * user ids were embedded fall back to loading the user by email until they expire.
+     */
+    public UserDetails resolve(JWTService.VerifiedToken token) {
+        Claims claims = token.claims();
+        String userId = claims.get(JWTService.USER_ID_CLAIM, String.class);
+        Integer version = claims.get(JWTService.VERSION_CLAIM, Integer.class);
+        if (userId == null || version == null) {
+            try {
+                return userDetailsService.loadUserByUsername(token.subject());
+            } catch (UsernameNotFoundException e) {
+                return null;
+            }
+        }
+        UserRole role = parseRole(claims.get(JWTService.ROLE_CLAIM, String.class));
+        UserState state = state(userId);
+        if (state.version() != version || state.role() != role || !Objects.equals(state.email(), token.subject())) {
+            return null;
+        }
+        return new UserPrincipal(userId, token.subject(), role);
+    }
+
+    /**
+     * The user's current principal if their token version is still {@code tokenVersion}, otherwise null.
+     * Used to mint a new access token on refresh without loading the user.
+     */
+    public UserPrincipal current(String userId, int tokenVersion) {
+        UserState state = state(userId);
+        if (state.version() != tokenVersion) {
+            return null;
+        }
+        return new UserPrincipal(userId, state.email(), state.role());
+    }
+
+    /**
+     * Drops the cached state after the user's role, email or token version changed, or the user was deleted.
+     */
+    public void evict(String userId) {
+        states.remove(userId);
+    }
+
+    private UserState state(String userId) {
+        UserState state = states.get(userId);
+        if (state == null) {
+            state = userRepository.findTokenStateById(userId)
+                    .map(row -> new UserState(row.getEmail(), row.getRole(),
+                            row.getTokenVersion() != null ? row.getTokenVersion() : 0))
+                    .orElse(DELETED);
+            states.put(userId, state, System.currentTimeMillis() + ttlMillis);
+        }
+        return state;
+    }
+
+    private static UserRole parseRole(String role) {
+        if (role == null) {
+            return null;
+        }
+        try {
+            return UserRole.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record UserState(String email, UserRole role, int version) {
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.quickcourtbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.helper.BloomFilter;
+import org.example.quickcourtbackend.helper.UserPrincipal;
+import org.example.quickcourtbackend.models.RevokedRefreshToken;
+import org.example.quickcourtbackend.models.User;
+import org.example.quickcourtbackend.repositories.RevokedRefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short-lived access tokens plus rotating refresh tokens. Every refresh token is single use: exchanging it
+ * records its id as revoked and issues a successor in the same family. Presenting a used token again means a
+ * copy leaked, so the whole family is revoked. Refresh tokens are signed JWTs, so nothing is stored for live
+ * ones; revoked ids are checked against an in-memory Bloom filter first and only a filter hit reads MySQL.
+ * Other nodes' revocations reach the filter within one sync interval, and the unique token id still stops a
+ * reused token on any node.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    // Re-read a little of the previous window so rows that committed late are not missed
+    private static final long SYNC_OVERLAP_MS = 60_000;
+
+    private final JWTService jwtService;
+    private final PrincipalCache principalCache;
+    private final RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long bloomCapacity;
+    private final double bloomFalsePositiveRate;
+
+    private volatile BloomFilter revoked;
+    private long syncedUpTo;
+
+    public RefreshTokenService(JWTService jwtService, PrincipalCache principalCache,
+                               RevokedRefreshTokenRepository revokedRefreshTokenRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${auth.refresh.bloom-capacity:1000000}") long bloomCapacity,
+                               @Value("${auth.refresh.bloom-false-positive-rate:0.001}") double bloomFalsePositiveRate) {
+        this.jwtService = jwtService;
+        this.principalCache = principalCache;
+        this.revokedRefreshTokenRepository = revokedRefreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.bloomCapacity = bloomCapacity;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.revoked = new BloomFilter(bloomCapacity, bloomFalsePositiveRate);
+    }
+
+    /**
+     * Loads every revocation that can still matter into a fresh filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        BloomFilter filter = new BloomFilter(bloomCapacity, bloomFalsePositiveRate);
+        List<String> ids = revokedRefreshTokenRepository.findLiveTokenIdsSince(new Date(0), now);
+        ids.forEach(filter::add);
+        revoked = filter;
+        syncedUpTo = now;
+        if (ids.size() > bloomCapacity) {
+            log.warn("{} revoked refresh tokens exceed the Bloom filter capacity of {}; more refreshes will hit the database",
+                    ids.size(), bloomCapacity);
+        }
+        log.info("Refresh token revocation filter rebuilt with {} ids in {} ms", ids.size(), System.currentTimeMillis() - now);
+    }
+
+    /**
+     * Picks up revocations made by other nodes since the last sync.
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh.sync-ms:5000}", initialDelayString = "${auth.refresh.sync-ms:5000}")
+    public synchronized void syncRevocations() {
+        long now = System.currentTimeMillis();
+        BloomFilter filter = revoked;
+        revokedRefreshTokenRepository.findLiveTokenIdsSince(new Date(syncedUpTo - SYNC_OVERLAP_MS), now)
+                .forEach(filter::add);
+        syncedUpTo = now;
+    }
+
+    /**
+     * Deletes revocations of tokens that have expired anyway, then rebuilds the filter without them.
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh.purge-interval-ms:3600000}",
+            initialDelayString = "${auth.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status ->
+                revokedRefreshTokenRepository.deleteExpired(System.currentTimeMillis()));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired refresh token revocations", purged);
+            rebuild();
+        }
+    }
+
+    /**
+     * Starts a new rotation family for a user who just logged in.
+     */
+    public Session issue(User user) {
+        return new Session(jwtService.createToken(user),
+                jwtService.createRefreshToken(user.getId(), UUID.randomUUID().toString(), user.getTokenVersion()));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and its successor, without checking a password.
+     */
+    public Session refresh(String refreshToken) {
+        JWTService.RefreshClaims claims = refreshToken != null ? jwtService.verifyRefresh(refreshToken) : null;
+        if (claims == null || isRevoked(claims.familyId())) {
+            throw unauthorized();
+        }
+        if (isRevoked(claims.tokenId())) {
+            revokeFamily(claims.familyId());
+            throw unauthorized();
+        }
+        // A role or email change bumps the token version, which ends the family too
+        UserPrincipal principal = principalCache.current(claims.userId(), claims.tokenVersion());
+        if (principal == null) {
+            throw unauthorized();
+        }
+        // The unique token id makes this the one exchange that wins, even against another node
+        if (!record(claims.tokenId(), false, claims.expiresAt())) {
+            revokeFamily(claims.familyId());
+            throw unauthorized();
+        }
+        return new Session(
+                jwtService.createToken(principal.getId(), principal.getUsername(), principal.getRole(), claims.tokenVersion()),
+                jwtService.createRefreshToken(claims.userId(), claims.familyId(), claims.tokenVersion()));
+    }
+
+    /**
+     * Ends the token's family, as on logout. Invalid or expired tokens are ignored.
+     */
+    public void revoke(String refreshToken) {
+        JWTService.RefreshClaims claims = refreshToken != null ? jwtService.verifyRefresh(refreshToken) : null;
+        if (claims != null) {
+            revokeFamily(claims.familyId());
+        }
+    }
+
+    private boolean isRevoked(String id) {
+        return revoked.mightContain(id) && revokedRefreshTokenRepository.existsByTokenId(id);
+    }
+
+    private void revokeFamily(String familyId) {
+        // Its newest token cannot outlive one full refresh lifetime from now
+        record(familyId, true, System.currentTimeMillis() + jwtService.getRefreshExpiryMillis());
+        log.info("Revoked refresh token family {}", familyId);
+    }
+
+    // False when the id was already revoked
+    private boolean record(String id, boolean family, long expiresAt) {
+        try {
+            revokedRefreshTokenRepository.save(RevokedRefreshToken.builder()
+                    .tokenId(id)
+                    .family(family)
+                    .expiresAt(expiresAt)
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        } finally {
+            revoked.add(id);
+        }
+    }
+
+    private static ResponseStatusException unauthorized() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token is invalid or expired");
+    }
+
+    public record Session(String accessToken, String refreshToken) {
+    }
+}
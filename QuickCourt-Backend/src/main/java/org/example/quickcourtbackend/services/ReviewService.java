@@ -1,13 +1,20 @@
 package org.example.quickcourtbackend.services;
 
+import org.example.quickcourtbackend.helper.ReviewCursor;
 import org.example.quickcourtbackend.models.Review;
+import org.example.quickcourtbackend.dtos.CursorPageDto;
+import org.example.quickcourtbackend.dtos.ReviewFeedProjection;
 import org.example.quickcourtbackend.dtos.ReviewRequestDto;
 import org.example.quickcourtbackend.dtos.ReviewResponseDto;
 import org.example.quickcourtbackend.repositories.FacilityRepository;
 import org.example.quickcourtbackend.repositories.ReviewRepository;
 import org.example.quickcourtbackend.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,6 +22,8 @@ import java.util.stream.Collectors;
 @Service
 public class ReviewService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ReviewRepository reviewRepository;
 
@@ -24,8 +33,13 @@ public class ReviewService {
     @Autowired
     private FacilityRepository facilityRepository;
 
+    @Autowired
+    private FacilityRatingService facilityRatingService;
+
 
+    @Transactional
     public ReviewResponseDto createReview(ReviewRequestDto dto) {
+        FacilityRatingService.validateRating(dto.getRating());
         Review review = new Review();
         review.setUser(userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found")));
@@ -35,6 +49,7 @@ public class ReviewService {
         review.setComment(dto.getComment());
 
         Review saved = reviewRepository.save(review);
+        facilityRatingService.apply(saved.getFacility().getId(), saved.getRating(), 1);
         return mapToResponseDto(saved);
     }
 
@@ -54,9 +69,64 @@ public class ReviewService {
     }
 
 
+    /**
+     * Newest-first reviews of one facility. {@code rating} keeps exactly that rating; {@code minRating} and
+     * {@code maxRating} keep a range and cannot be combined with it.
+     */
+    public CursorPageDto<ReviewFeedProjection> getFacilityReviews(String facilityId, Integer rating, Integer minRating,
+                                                                  Integer maxRating, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (rating != null) {
+            if (minRating != null || maxRating != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Use either rating or minRating/maxRating");
+            }
+            FacilityRatingService.validateRating(rating);
+            minRating = rating;
+            maxRating = rating;
+        } else {
+            if (minRating != null) {
+                FacilityRatingService.validateRating(minRating);
+            }
+            if (maxRating != null) {
+                FacilityRatingService.validateRating(maxRating);
+            }
+            if (minRating != null && maxRating != null && maxRating < minRating) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "maxRating must not be below minRating");
+            }
+        }
+        ReviewCursor after;
+        try {
+            after = cursor != null && !cursor.isBlank() ? ReviewCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        if (!facilityRepository.existsById(facilityId)) {
+            throw new RuntimeException("Facility not found");
+        }
+
+        List<ReviewFeedProjection> rows = reviewRepository.findFeed(facilityId, minRating, maxRating,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                Limit.of(size + 1));
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            ReviewFeedProjection last = rows.get(size - 1);
+            nextCursor = new ReviewCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(rows, rows.size(), nextCursor);
+    }
+
+
+    @Transactional
     public ReviewResponseDto updateReview(String id, ReviewRequestDto dto) {
+        FacilityRatingService.validateRating(dto.getRating());
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
+        String previousFacilityId = review.getFacility().getId();
+        Integer previousRating = review.getRating();
         review.setUser(userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found")));
         review.setFacility(facilityRepository.findById(dto.getFacilityId())
@@ -65,12 +135,20 @@ public class ReviewService {
         review.setComment(dto.getComment());
 
         Review updated = reviewRepository.save(review);
+        if (!previousFacilityId.equals(updated.getFacility().getId()) || !updated.getRating().equals(previousRating)) {
+            facilityRatingService.apply(previousFacilityId, previousRating, -1);
+            facilityRatingService.apply(updated.getFacility().getId(), updated.getRating(), 1);
+        }
         return mapToResponseDto(updated);
     }
 
 
+    @Transactional
     public void deleteReview(String id) {
-        reviewRepository.deleteById(id);
+        reviewRepository.findById(id).ifPresent(review -> {
+            reviewRepository.delete(review);
+            facilityRatingService.apply(review.getFacility().getId(), review.getRating(), -1);
+        });
     }
 
     private ReviewResponseDto mapToResponseDto(Review review) {
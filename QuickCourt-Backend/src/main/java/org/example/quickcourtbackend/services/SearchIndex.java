@@ -0,0 +1,169 @@
+package org.example.quickcourtbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.SearchHitDto;
+import org.example.quickcourtbackend.enums.SportType;
+import org.example.quickcourtbackend.helper.InvertedIndex;
+import org.example.quickcourtbackend.helper.InvertedIndex.Field;
+import org.example.quickcourtbackend.models.Court;
+import org.example.quickcourtbackend.models.Facility;
+import org.example.quickcourtbackend.repositories.CourtRepository;
+import org.example.quickcourtbackend.repositories.FacilityRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search and autocomplete over facilities and courts. Court documents also carry their facility's
+ * name and city, so "badminton andheri" finds courts; they are re-indexed when the facility changes.
+ */
+@Slf4j
+@Service
+public class SearchIndex {
+
+    public static final String FACILITY = "FACILITY";
+    public static final String COURT = "COURT";
+
+    private static final String FACILITY_PREFIX = "facility:";
+    private static final String COURT_PREFIX = "court:";
+    private static final int MAX_LIMIT = 50;
+
+    private final FacilityRepository facilityRepository;
+    private final CourtRepository courtRepository;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final Map<String, FacilityDoc> facilities = new ConcurrentHashMap<>();
+    private final Map<String, CourtDoc> courts = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> courtsByFacility = new ConcurrentHashMap<>();
+
+    public SearchIndex(FacilityRepository facilityRepository, CourtRepository courtRepository) {
+        this.facilityRepository = facilityRepository;
+        this.courtRepository = courtRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        index.clear();
+        facilities.clear();
+        courts.clear();
+        courtsByFacility.clear();
+        facilityRepository.findSearchDocuments().forEach(row -> indexFacility(new FacilityDoc(row.getId(),
+                row.getName(), row.getDescription(), row.getCity(), row.getAddress())));
+        courtRepository.findCatalog().forEach(row -> indexCourt(new CourtDoc(row.getId(), row.getName(),
+                row.getSportType(), row.getFacilityId())));
+        log.info("Search index rebuilt with {} documents in {} ms", index.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Indexes a created or updated facility and refreshes the facility fields of its courts.
+     */
+    public synchronized void putFacility(Facility facility) {
+        indexFacility(new FacilityDoc(facility.getId(), facility.getName(), facility.getDescription(),
+                facility.getCity(), facility.getAddress()));
+        for (String courtId : courtsByFacility.getOrDefault(facility.getId(), Set.of())) {
+            CourtDoc court = courts.get(courtId);
+            if (court != null) {
+                indexCourt(court);
+            }
+        }
+    }
+
+    public synchronized void putCourt(Court court) {
+        removeCourt(court.getId());
+        indexCourt(new CourtDoc(court.getId(), court.getName(), court.getSportType(), court.getFacility().getId()));
+    }
+
+    public synchronized void removeCourt(String courtId) {
+        CourtDoc previous = courts.remove(courtId);
+        if (previous != null) {
+            index.remove(COURT_PREFIX + courtId);
+            courtsByFacility.computeIfPresent(previous.facilityId(), (id, ids) -> {
+                ids.remove(courtId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public List<SearchHitDto> search(String query, String type, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        }
+        Predicate<String> filter;
+        if (type == null) {
+            filter = id -> true;
+        } else if (FACILITY.equalsIgnoreCase(type)) {
+            filter = id -> id.startsWith(FACILITY_PREFIX);
+        } else if (COURT.equalsIgnoreCase(type)) {
+            filter = id -> id.startsWith(COURT_PREFIX);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Type must be FACILITY or COURT");
+        }
+        return index.search(query, limit, filter).stream()
+                .map(this::toDto)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return index.complete(prefix, limit);
+    }
+
+    private void indexFacility(FacilityDoc facility) {
+        facilities.put(facility.id(), facility);
+        index.put(FACILITY_PREFIX + facility.id(), List.of(
+                new Field(facility.name(), 3f),
+                new Field(facility.city(), 2f),
+                new Field(facility.address(), 1f),
+                new Field(facility.description(), 0.5f)));
+    }
+
+    private void indexCourt(CourtDoc court) {
+        courts.put(court.id(), court);
+        if (court.facilityId() != null) {
+            courtsByFacility.computeIfAbsent(court.facilityId(), id -> ConcurrentHashMap.newKeySet()).add(court.id());
+        }
+        FacilityDoc facility = court.facilityId() != null ? facilities.get(court.facilityId()) : null;
+        index.put(COURT_PREFIX + court.id(), List.of(
+                new Field(court.name(), 3f),
+                new Field(court.sportType() != null ? court.sportType().name().replace('_', ' ') : null, 2f),
+                new Field(facility != null ? facility.name() : null, 1f),
+                new Field(facility != null ? facility.city() : null, 1f)));
+    }
+
+    // Null when the document was removed after the lookup
+    private SearchHitDto toDto(InvertedIndex.Hit hit) {
+        if (hit.documentId().startsWith(FACILITY_PREFIX)) {
+            FacilityDoc facility = facilities.get(hit.documentId().substring(FACILITY_PREFIX.length()));
+            return facility == null ? null : new SearchHitDto(FACILITY, facility.id(), facility.name(),
+                    facility.id(), facility.name(), facility.city(), null, hit.score());
+        }
+        CourtDoc court = courts.get(hit.documentId().substring(COURT_PREFIX.length()));
+        if (court == null) {
+            return null;
+        }
+        FacilityDoc facility = court.facilityId() != null ? facilities.get(court.facilityId()) : null;
+        return new SearchHitDto(COURT, court.id(), court.name(), court.facilityId(),
+                facility != null ? facility.name() : null, facility != null ? facility.city() : null,
+                court.sportType() != null ? court.sportType().name() : null, hit.score());
+    }
+
+    private record FacilityDoc(String id, String name, String description, String city, String address) {
+    }
+
+    private record CourtDoc(String id, String name, SportType sportType, String facilityId) {
+    }
+}
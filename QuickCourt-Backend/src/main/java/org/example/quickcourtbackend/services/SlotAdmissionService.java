@@ -0,0 +1,260 @@
+package org.example.quickcourtbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.helper.SlotBitmap;
+import org.example.quickcourtbackend.helper.StripedLocks;
+import org.example.quickcourtbackend.models.BaseModel;
+import org.example.quickcourtbackend.models.SlotClaim;
+import org.example.quickcourtbackend.repositories.SlotClaimRepository;
+import org.example.quickcourtbackend.services.AvailabilityIndex.CourtSlot;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Single admission path for anything that reserves court time.
+ * Contenders on this node are serialised per (court, date) stripe and pre-checked against the
+ * {@link AvailabilityIndex}, which is reloaded from the database before a conflict there is reported; the
+ * unique key on {@link SlotClaim} rejects whatever another node admitted first.
+ * Every committed release is announced as a {@link SlotReleased} event, and every committed claim as a
+ * {@link SlotClaimed} event, once the stripe lock is dropped.
+ */
+@Slf4j
+@Service
+public class SlotAdmissionService {
+
+    public static final String SLOT_TAKEN = "Court is already booked for the selected time";
+    public static final String COURT_CLOSED = "Court is closed at the selected time";
+
+    private static final int STRIPES = 256;
+
+    private final AvailabilityIndex availabilityIndex;
+    private final SlotClaimRepository slotClaimRepository;
+    private final CourtScheduleService courtScheduleService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StripedLocks locks = new StripedLocks(STRIPES);
+
+    public SlotAdmissionService(AvailabilityIndex availabilityIndex, SlotClaimRepository slotClaimRepository,
+                                CourtScheduleService courtScheduleService, TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher) {
+        this.availabilityIndex = availabilityIndex;
+        this.slotClaimRepository = slotClaimRepository;
+        this.courtScheduleService = courtScheduleService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Moves a reservation from {@code previous} to {@code next} (either may be null) and runs {@code persist}
+     * in the same transaction as the slot claims. The transaction commits before the stripe lock is released.
+     */
+    public <T extends BaseModel> T admit(CourtSlot previous, CourtSlot next, Supplier<T> persist) {
+        if (next != null && !courtScheduleService.isOpen(next)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, COURT_CLOSED);
+        }
+        T admitted;
+        List<ReentrantLock> held = lock(previous, next);
+        try {
+            if (!availabilityIndex.move(previous, next)) {
+                // The index only learns of releases made through other nodes with its next sync, so the
+                // court-day is reloaded from the database once before the contender is turned away
+                availabilityIndex.refresh(next.courtId(), next.date());
+                if (!availabilityIndex.move(previous, next)) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, SLOT_TAKEN);
+                }
+            }
+            try {
+                admitted = transactionTemplate.execute(status -> {
+                    T saved = persist.get();
+                    if (previous != null) {
+                        slotClaimRepository.deleteByReservationId(saved.getId());
+                    }
+                    if (next != null) {
+                        slotClaimRepository.saveAllAndFlush(claimsFor(next, saved.getId()));
+                    }
+                    return saved;
+                });
+            } catch (DataIntegrityViolationException e) {
+                availabilityIndex.move(next, previous);
+                if (next == null) {
+                    throw e;
+                }
+                availabilityIndex.refresh(next.courtId(), next.date());
+                log.info("Slot on court {} at {} was claimed by another node", next.courtId(), next.date());
+                throw new ResponseStatusException(HttpStatus.CONFLICT, SLOT_TAKEN);
+            } catch (RuntimeException e) {
+                availabilityIndex.move(next, previous);
+                throw e;
+            }
+        } finally {
+            unlock(held);
+        }
+        if (previous != null && !previous.equals(next)) {
+            eventPublisher.publishEvent(new SlotReleased(previous.courtId(), previous.date()));
+        }
+        if (next != null && !next.equals(previous)) {
+            eventPublisher.publishEvent(new SlotClaimed(next.courtId(), next.date()));
+        }
+        return admitted;
+    }
+
+    /**
+     * Admits every slot or none. {@code persistAll} must return the saved reservations in the order of
+     * {@code slots}; they and all their claims go to the database in one batched transaction.
+     */
+    public <T extends BaseModel> List<T> admitAll(List<CourtSlot> slots, Supplier<List<T>> persistAll) {
+        for (CourtSlot slot : slots) {
+            if (!courtScheduleService.isOpen(slot)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, COURT_CLOSED);
+            }
+        }
+        List<T> admitted;
+        List<ReentrantLock> held = lock(slots);
+        try {
+            CourtSlot conflict = occupyAll(slots);
+            if (conflict != null) {
+                // Same as in admit: the index may not know yet of a release made through another node
+                availabilityIndex.refresh(conflict.courtId(), conflict.date());
+                if (occupyAll(slots) != null) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, SLOT_TAKEN);
+                }
+            }
+            try {
+                admitted = transactionTemplate.execute(status -> {
+                    List<T> saved = persistAll.get();
+                    List<SlotClaim> claims = new ArrayList<>();
+                    for (int i = 0; i < slots.size(); i++) {
+                        claims.addAll(claimsFor(slots.get(i), saved.get(i).getId()));
+                    }
+                    slotClaimRepository.saveAllAndFlush(claims);
+                    return saved;
+                });
+            } catch (DataIntegrityViolationException e) {
+                slots.forEach(availabilityIndex::release);
+                slots.forEach(slot -> availabilityIndex.refresh(slot.courtId(), slot.date()));
+                log.info("Batch of {} slots lost a race with another node", slots.size());
+                throw new ResponseStatusException(HttpStatus.CONFLICT, SLOT_TAKEN);
+            } catch (RuntimeException e) {
+                slots.forEach(availabilityIndex::release);
+                throw e;
+            }
+        } finally {
+            unlock(held);
+        }
+        slots.stream()
+                .map(slot -> new SlotClaimed(slot.courtId(), slot.date()))
+                .distinct()
+                .forEach(eventPublisher::publishEvent);
+        return admitted;
+    }
+
+    /**
+     * Runs {@code delete} together with dropping the reservation's claims, then frees the slot.
+     */
+    public void release(CourtSlot slot, String reservationId, Runnable delete) {
+        releaseIf(slot, reservationId, () -> {
+            delete.run();
+            return true;
+        });
+    }
+
+    /**
+     * Like {@link #release}, but only drops the claims and frees the slot when {@code write} reports that it
+     * changed the reservation, e.g. a conditional UPDATE that lost to a concurrent confirmation.
+     */
+    public boolean releaseIf(CourtSlot slot, String reservationId, BooleanSupplier write) {
+        boolean released;
+        List<ReentrantLock> held = lock(slot, null);
+        try {
+            released = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!write.getAsBoolean()) {
+                    return false;
+                }
+                slotClaimRepository.deleteByReservationId(reservationId);
+                return true;
+            }));
+            if (released) {
+                availabilityIndex.release(slot);
+            }
+        } finally {
+            unlock(held);
+        }
+        if (released && slot != null) {
+            eventPublisher.publishEvent(new SlotReleased(slot.courtId(), slot.date()));
+        }
+        return released;
+    }
+
+    // Occupies every slot or none; returns the first slot that collided, or null
+    private CourtSlot occupyAll(List<CourtSlot> slots) {
+        List<CourtSlot> occupied = new ArrayList<>(slots.size());
+        for (CourtSlot slot : slots) {
+            if (!availabilityIndex.tryOccupy(slot)) {
+                occupied.forEach(availabilityIndex::release);
+                return slot;
+            }
+            occupied.add(slot);
+        }
+        return null;
+    }
+
+    private static List<SlotClaim> claimsFor(CourtSlot slot, String reservationId) {
+        SlotBitmap bits = slot.bits();
+        List<SlotClaim> claims = new ArrayList<>(bits.cardinality());
+        for (int i = 0; i < SlotBitmap.SLOTS_PER_DAY; i++) {
+            if (bits.isSet(i)) {
+                claims.add(SlotClaim.builder()
+                        .courtId(slot.courtId())
+                        .date(slot.date())
+                        .slot(i)
+                        .reservationId(reservationId)
+                        .build());
+            }
+        }
+        return claims;
+    }
+
+    private List<ReentrantLock> lock(CourtSlot first, CourtSlot second) {
+        return lock(Stream.of(first, second).filter(Objects::nonNull).toList());
+    }
+
+    private List<ReentrantLock> lock(List<CourtSlot> slots) {
+        int[] hashes = slots.stream()
+                .mapToInt(slot -> Objects.hash(slot.courtId(), slot.date()))
+                .toArray();
+        List<ReentrantLock> held = locks.locksFor(hashes);
+        held.forEach(ReentrantLock::lock);
+        return held;
+    }
+
+    private static void unlock(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    /**
+     * Court time on {@code date} was given back; listeners run on the releasing thread and should hand off.
+     */
+    public record SlotReleased(String courtId, LocalDate date) {
+    }
+
+    /**
+     * Court time on {@code date} was taken; listeners run on the admitting thread and should hand off.
+     */
+    public record SlotClaimed(String courtId, LocalDate date) {
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.quickcourtbackend.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.PaymentStatus;
+import org.example.quickcourtbackend.helper.HashedTimingWheel;
+import org.example.quickcourtbackend.models.Booking;
+import org.example.quickcourtbackend.repositories.BookingRepository;
+import org.example.quickcourtbackend.services.AvailabilityIndex.CourtSlot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Expires HELD bookings that were not confirmed within the hold TTL. Each hold sits in a hashed timing
+ * wheel, so expiry needs no periodic table scan; the expiry itself is a conditional UPDATE, so a hold that
+ * is confirmed at the last moment is never released.
+ */
+@Slf4j
+@Service
+public class SlotHoldService {
+
+    private final BookingRepository bookingRepository;
+    private final SlotAdmissionService slotAdmissionService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService expiryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private HashedTimingWheel<String> wheel;
+    private final Map<String, HashedTimingWheel.Timeout<String>> holds = new ConcurrentHashMap<>();
+
+    @Value("${booking.hold.ttl-ms:600000}")
+    private long holdTtlMs;
+
+    @Value("${booking.hold.tick-ms:1000}")
+    private long tickMs;
+
+    public SlotHoldService(BookingRepository bookingRepository, SlotAdmissionService slotAdmissionService,
+                           TransactionTemplate transactionTemplate) {
+        this.bookingRepository = bookingRepository;
+        this.slotAdmissionService = slotAdmissionService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Not in the constructor: the wheel's thread starts at once and must never see a half-built service
+    @PostConstruct
+    public void startWheel() {
+        wheel = new HashedTimingWheel<>("slot-hold-wheel", Duration.ofMillis(tickMs), 512,
+                bookingId -> expiryExecutor.execute(() -> expire(bookingId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadHolds() {
+        bookingRepository.findByStatus(BookingStatus.HELD).forEach(booking -> track(booking.getId(),
+                booking.getHoldExpiresAt() != null ? booking.getHoldExpiresAt() : Instant.now()));
+        log.info("Tracking {} slot holds", holds.size());
+    }
+
+    public Instant newExpiry() {
+        return Instant.now().plusMillis(holdTtlMs);
+    }
+
+    public void track(String bookingId, Instant expiresAt) {
+        HashedTimingWheel.Timeout<String> previous = holds.put(bookingId,
+                wheel.schedule(bookingId, Duration.between(Instant.now(), expiresAt)));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public void untrack(String bookingId) {
+        HashedTimingWheel.Timeout<String> timeout = holds.remove(bookingId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Turns a live hold into a confirmed booking. Fails with 410 once the hold has expired.
+     */
+    public void confirm(String bookingId, PaymentStatus paymentStatus) {
+        Integer updated = transactionTemplate.execute(status ->
+                bookingRepository.confirmHold(bookingId, BookingStatus.CONFIRMED, paymentStatus, Instant.now()));
+        if (updated == null || updated == 0) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Hold has expired or does not exist");
+        }
+        untrack(bookingId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.close();
+        expiryExecutor.shutdown();
+    }
+
+    private void expire(String bookingId) {
+        holds.remove(bookingId);
+        try {
+            Booking booking = bookingRepository.findById(bookingId).orElse(null);
+            if (booking == null || booking.getStatus() != BookingStatus.HELD) {
+                return;
+            }
+            if (booking.getHoldExpiresAt() != null && booking.getHoldExpiresAt().isAfter(Instant.now())) {
+                track(bookingId, booking.getHoldExpiresAt());
+                return;
+            }
+            CourtSlot slot = new CourtSlot(booking.getCourt().getId(), booking.getDate(),
+                    booking.getStartTime(), booking.getEndTime());
+            if (slotAdmissionService.releaseIf(slot, bookingId,
+                    () -> bookingRepository.expireHold(bookingId, Instant.now()) > 0)) {
+                log.info("Hold {} on court {} expired and was released", bookingId, slot.courtId());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to expire hold {}", bookingId, e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.quickcourtbackend.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.MatchStatus;
+import org.example.quickcourtbackend.enums.PaymentStatus;
+import org.example.quickcourtbackend.models.JobLease;
+import org.example.quickcourtbackend.repositories.BookingRepository;
+import org.example.quickcourtbackend.repositories.JobLeaseRepository;
+import org.example.quickcourtbackend.repositories.MatchRepository;
+import org.example.quickcourtbackend.repositories.SlotClaimRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves reservations whose time has passed out of their active states, so "active" queries stop scanning
+ * history: paid CONFIRMED bookings become COMPLETED and unpaid ones NO_SHOW; OPEN and FULL matches become
+ * COMPLETED. Rows are selected in chunks of ids and moved with conditional set-based UPDATEs, one short
+ * transaction per chunk. Slot claims on past days, which nothing can collide with any more, are deleted
+ * the same way. A lease row makes sure only one node runs at a time.
+ */
+@Slf4j
+@Service
+public class StateTransitionJob {
+
+    private static final String LEASE_NAME = "state-transitions";
+
+    private static final Set<MatchStatus> ACTIVE_MATCH = Set.of(MatchStatus.OPEN, MatchStatus.FULL);
+
+    private final BookingRepository bookingRepository;
+    private final MatchRepository matchRepository;
+    private final SlotClaimRepository slotClaimRepository;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+
+    // Distinguishes this node's lease from another node's
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${transitions.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${transitions.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Value("${transitions.lease-ms:300000}")
+    private long leaseMs;
+
+    public StateTransitionJob(BookingRepository bookingRepository, MatchRepository matchRepository,
+                              SlotClaimRepository slotClaimRepository, JobLeaseRepository jobLeaseRepository,
+                              TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.matchRepository = matchRepository;
+        this.slotClaimRepository = slotClaimRepository;
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.runTimer = Timer.builder("quickcourt.transitions.duration")
+                .description("Time taken by one state transition run")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createLease() {
+        if (jobLeaseRepository.existsByName(LEASE_NAME)) {
+            return;
+        }
+        try {
+            jobLeaseRepository.save(JobLease.builder().name(LEASE_NAME).leasedUntil(0L).build());
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${transitions.interval-ms:60000}", initialDelayString = "${transitions.initial-delay-ms:30000}")
+    public void run() {
+        if (!acquireLease()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int chunks = 0;
+            int completed = 0;
+            int noShows = 0;
+            int matches = 0;
+            int claims = 0;
+            boolean leased = true;
+
+            List<String> ids;
+            while (chunks < maxChunksPerRun && !(ids = endedBookings(now)).isEmpty()) {
+                List<String> chunk = ids;
+                int[] moved = transactionTemplate.execute(status -> new int[]{
+                        bookingRepository.transitionPaid(chunk, BookingStatus.CONFIRMED, BookingStatus.COMPLETED, PaymentStatus.PAID),
+                        bookingRepository.transitionUnpaid(chunk, BookingStatus.CONFIRMED, BookingStatus.NO_SHOW, PaymentStatus.PAID)});
+                completed += moved[0];
+                noShows += moved[1];
+                chunks++;
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                if (!acquireLease()) {
+                    leased = false;
+                    break;
+                }
+            }
+            while (leased && chunks < maxChunksPerRun && !(ids = endedMatches(now)).isEmpty()) {
+                List<String> chunk = ids;
+                matches += transactionTemplate.execute(status ->
+                        matchRepository.transition(chunk, ACTIVE_MATCH, MatchStatus.COMPLETED));
+                chunks++;
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                if (!acquireLease()) {
+                    leased = false;
+                    break;
+                }
+            }
+            while (leased && chunks < maxChunksPerRun
+                    && !(ids = slotClaimRepository.findIdsBefore(now.toLocalDate(), Limit.of(chunkSize))).isEmpty()) {
+                List<String> chunk = ids;
+                claims += transactionTemplate.execute(status -> slotClaimRepository.deleteByIds(chunk));
+                chunks++;
+                if (ids.size() < chunkSize || !acquireLease()) {
+                    break;
+                }
+            }
+
+            count("booking", "COMPLETED", completed);
+            count("booking", "NO_SHOW", noShows);
+            count("match", "COMPLETED", matches);
+            count("slot_claim", "PURGED", claims);
+            if (completed + noShows + matches + claims > 0) {
+                log.info("Transitioned {} completed and {} no-show bookings and {} matches, purged {} past slot claims "
+                        + "in {} chunks", completed, noShows, matches, claims, chunks);
+            }
+        } catch (RuntimeException e) {
+            log.error("State transition run failed", e);
+        } finally {
+            sample.stop(runTimer);
+            transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.release(LEASE_NAME, nodeId));
+        }
+    }
+
+    private List<String> endedBookings(LocalDateTime now) {
+        return bookingRepository.findEndedIds(BookingStatus.CONFIRMED, now.toLocalDate(), now.toLocalTime(),
+                LocalTime.MIDNIGHT, Limit.of(chunkSize));
+    }
+
+    private List<String> endedMatches(LocalDateTime now) {
+        return matchRepository.findEndedIds(ACTIVE_MATCH, now.toLocalDate(), now.toLocalTime(),
+                LocalTime.MIDNIGHT, Limit.of(chunkSize));
+    }
+
+    // Also renews the lease between chunks, so a long run cannot outlive it
+    private boolean acquireLease() {
+        long now = System.currentTimeMillis();
+        Integer acquired = transactionTemplate.execute(status ->
+                jobLeaseRepository.tryAcquire(LEASE_NAME, nodeId, now, now + leaseMs));
+        return acquired != null && acquired > 0;
+    }
+
+    private void count(String entity, String status, int rows) {
+        meterRegistry.counter("quickcourt.transitions.rows", "entity", entity, "status", status).increment(rows);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.quickcourtbackend.services;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hibernate creates {@code @Enumerated(STRING)} columns on MySQL as native enums listing the values known at
+ * the time, and {@code ddl-auto: update} never alters an existing column, so a status added later cannot be
+ * stored. The entities now map these columns as varchar; this converts columns still created as enums, once,
+ * after the schema update and before the application takes traffic.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class StatusColumnMigration {
+
+    private static final List<StatusColumn> COLUMNS = List.of(
+            new StatusColumn("booking", "status"),
+            new StatusColumn("matches", "status"),
+            new StatusColumn("waitlist_entry", "status"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatusColumnMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        for (StatusColumn column : COLUMNS) {
+            try {
+                List<String> types = jdbcTemplate.queryForList(
+                        "select data_type from information_schema.columns " +
+                                "where table_schema = database() and table_name = ? and column_name = ?",
+                        String.class, column.table(), column.column());
+                if (!types.isEmpty() && "enum".equalsIgnoreCase(types.get(0))) {
+                    // Identifiers come from the constant list above, never from input
+                    jdbcTemplate.execute("alter table " + column.table() + " modify " + column.column()
+                            + " varchar(32) not null");
+                    log.info("Converted {}.{} from a native enum to varchar(32)", column.table(), column.column());
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not migrate {}.{} to varchar; new status values will fail to save",
+                        column.table(), column.column(), e);
+            }
+        }
+    }
+
+    private record StatusColumn(String table, String column) {
+    }
+}
@@ -6,6 +6,7 @@ import org.example.quickcourtbackend.repositories.UserRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -13,8 +14,10 @@ import java.util.stream.Collectors;
 public class UserServices {
 
     private final UserRepository userRepository;
-    public UserServices(UserRepository userRepository) {
+    private final PrincipalCache principalCache;
+    public UserServices(UserRepository userRepository, PrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     public List<User> getAllUsers(){
@@ -26,13 +29,21 @@ public class UserServices {
         Optional<User> existingUser = Optional.ofNullable(userRepository.findUserById(id));
         if (existingUser.isPresent()) {
             User updatedUser = existingUser.get();
+            // Tokens carry the email and role, so changing either revokes the ones already issued
+            boolean revokeTokens = !Objects.equals(updatedUser.getEmail(), user.getEmail())
+                    || updatedUser.getRole() != user.getRole();
             updatedUser.setFirstName(user.getFirstName());
             updatedUser.setLastName(user.getLastName());
             updatedUser.setEmail(user.getEmail());
             updatedUser.setPhoneNumber(user.getPhoneNumber());
             updatedUser.setRole(user.getRole());
             updatedUser.setProfilePictureUrl(user.getProfilePictureUrl());
-            return Optional.of(userRepository.save(updatedUser));
+            if (revokeTokens) {
+                updatedUser.setTokenVersion(updatedUser.getTokenVersion() + 1);
+            }
+            User saved = userRepository.save(updatedUser);
+            principalCache.evict(id);
+            return Optional.of(saved);
         }
         return Optional.empty();
     }
@@ -41,6 +52,7 @@ public class UserServices {
         Optional<User> user = Optional.ofNullable(userRepository.findUserById(id));
         if (user.isPresent()) {
             userRepository.delete(user.get());
+            principalCache.evict(id);
             return true;
         }
         return false;
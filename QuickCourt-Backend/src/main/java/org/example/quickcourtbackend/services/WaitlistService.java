@@ -0,0 +1,291 @@
+package org.example.quickcourtbackend.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.quickcourtbackend.dtos.WaitlistEntryDto;
+import org.example.quickcourtbackend.dtos.WaitlistProjection;
+import org.example.quickcourtbackend.dtos.WaitlistRequestDto;
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.PaymentStatus;
+import org.example.quickcourtbackend.enums.WaitlistStatus;
+import org.example.quickcourtbackend.helper.SlotBitmap;
+import org.example.quickcourtbackend.helper.StripedLocks;
+import org.example.quickcourtbackend.models.Booking;
+import org.example.quickcourtbackend.models.User;
+import org.example.quickcourtbackend.models.WaitlistEntry;
+import org.example.quickcourtbackend.repositories.BookingRepository;
+import org.example.quickcourtbackend.repositories.CourtRepository;
+import org.example.quickcourtbackend.repositories.UserRepository;
+import org.example.quickcourtbackend.repositories.WaitlistRepository;
+import org.example.quickcourtbackend.services.AvailabilityIndex.CourtSlot;
+import org.example.quickcourtbackend.services.SlotAdmissionService.SlotReleased;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FIFO waitlists per (court, date). Whenever {@link SlotAdmissionService} releases court time, the
+ * waiters of that court-day are walked in order and the first ones whose time is now free are promoted
+ * to a HELD booking, which the usual hold TTL then applies to.
+ * The {@code waitlist_entry} table is the queue: every pass reads the WAITING rows in {@code queued_at}
+ * order, so a waiter who joined through another node is served as soon as this node sees a release.
+ */
+@Slf4j
+@Service
+public class WaitlistService {
+
+    private static final int STRIPES = 64;
+
+    private final WaitlistRepository waitlistRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final CourtRepository courtRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final CourtScheduleService courtScheduleService;
+    private final SlotAdmissionService slotAdmissionService;
+    private final SlotHoldService slotHoldService;
+    private final TransactionTemplate transactionTemplate;
+    private final MailOutbox mailOutbox;
+
+    private final ExecutorService promoter = Executors.newVirtualThreadPerTaskExecutor();
+    // Keeps this node to one promotion pass per court-day; other nodes are fenced by markPromoted
+    private final StripedLocks locks = new StripedLocks(STRIPES);
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    public WaitlistService(WaitlistRepository waitlistRepository, BookingRepository bookingRepository,
+                           UserRepository userRepository, CourtRepository courtRepository,
+                           AvailabilityIndex availabilityIndex, CourtScheduleService courtScheduleService,
+                           SlotAdmissionService slotAdmissionService, SlotHoldService slotHoldService,
+                           TransactionTemplate transactionTemplate, MailOutbox mailOutbox) {
+        this.waitlistRepository = waitlistRepository;
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.courtRepository = courtRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.courtScheduleService = courtScheduleService;
+        this.slotAdmissionService = slotAdmissionService;
+        this.slotHoldService = slotHoldService;
+        this.transactionTemplate = transactionTemplate;
+        this.mailOutbox = mailOutbox;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePromotions() {
+        Set<DayKey> days = new LinkedHashSet<>();
+        waitlistRepository.findQueuedFrom(WaitlistStatus.WAITING, LocalDate.now())
+                .forEach(row -> days.add(new DayKey(row.getCourtId(), row.getDate())));
+        log.info("Found waitlist entries across {} court-days", days.size());
+        // Anything released while this node was down is picked up now
+        days.forEach(key -> promoter.execute(() -> promote(key)));
+    }
+
+    @EventListener
+    public void onSlotReleased(SlotReleased event) {
+        DayKey key = new DayKey(event.courtId(), event.date());
+        promoter.execute(() -> promote(key));
+    }
+
+    public WaitlistEntryDto join(WaitlistRequestDto dto) {
+        if (dto.getDate() == null || dto.getStartTime() == null || dto.getEndTime() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date, start time and end time are required");
+        }
+        if (dto.getDate().isBefore(LocalDate.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date must not be in the past");
+        }
+        if (!userRepository.existsById(dto.getUserId())) {
+            throw new RuntimeException("User not found");
+        }
+        if (!courtRepository.existsById(dto.getCourtId())) {
+            throw new RuntimeException("Court not found");
+        }
+        CourtSlot slot = new CourtSlot(dto.getCourtId(), dto.getDate(), dto.getStartTime(), dto.getEndTime());
+        try {
+            SlotBitmap.of(dto.getStartTime(), dto.getEndTime());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (!courtScheduleService.isOpen(slot)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, SlotAdmissionService.COURT_CLOSED);
+        }
+        if (availabilityIndex.isFree(slot)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Court is free at the selected time, book it directly");
+        }
+        if (waitlistRepository.existsByUserIdAndCourtIdAndDateAndStartTimeAndEndTimeAndStatus(dto.getUserId(),
+                dto.getCourtId(), dto.getDate(), dto.getStartTime(), dto.getEndTime(), WaitlistStatus.WAITING)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "User is already waiting for this time");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .courtId(dto.getCourtId())
+                .userId(dto.getUserId())
+                .date(dto.getDate())
+                .startTime(dto.getStartTime())
+                .endTime(dto.getEndTime())
+                .queuedAt(System.currentTimeMillis())
+                .status(WaitlistStatus.WAITING)
+                .build());
+        DayKey key = new DayKey(entry.getCourtId(), entry.getDate());
+        // The slot may have been released between the availability check and the insert
+        promoter.execute(() -> promote(key));
+        return mapToDto(entry, position(entry));
+    }
+
+    public WaitlistEntryDto getEntry(String id) {
+        WaitlistEntry entry = waitlistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found"));
+        return mapToDto(entry, entry.getStatus() == WaitlistStatus.WAITING ? position(entry) : null);
+    }
+
+    public void leave(String id) {
+        if (!waitlistRepository.existsById(id)) {
+            throw new RuntimeException("Waitlist entry not found");
+        }
+        Integer cancelled = transactionTemplate.execute(status -> waitlistRepository.cancelWaiting(id));
+        if (cancelled == null || cancelled == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Waitlist entry is no longer waiting");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        promoter.shutdown();
+    }
+
+    /**
+     * One pass over the court-day in FIFO order. A waiter whose time is still taken keeps its place, so a
+     * shorter request further back can take a gap the head of the queue does not fit into.
+     */
+    private void promote(DayKey key) {
+        if (key.date().isBefore(LocalDate.now())) {
+            return;
+        }
+        ReentrantLock lock = locks.locksFor(key.hashCode()).get(0);
+        lock.lock();
+        try {
+            List<WaitlistProjection> waiters = waitlistRepository.findWaiting(key.courtId(), key.date());
+            for (WaitlistProjection waiter : waiters) {
+                CourtSlot slot = new CourtSlot(key.courtId(), key.date(), waiter.getStartTime(), waiter.getEndTime());
+                if (availabilityIndex.isFree(slot)) {
+                    tryPromote(waiter.getId(), slot);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Waitlist promotion failed for court {} on {}", key.courtId(), key.date(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Promotes one waiter if its row is still WAITING. A waiter that loses the race for the time simply
+     * stays WAITING and is looked at again on the next release.
+     */
+    private void tryPromote(String entryId, CourtSlot slot) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistStatus.WAITING) {
+            return;
+        }
+        Booking booking = Booking.builder()
+                .user(userRepository.getReferenceById(entry.getUserId()))
+                .court(courtRepository.getReferenceById(entry.getCourtId()))
+                .date(entry.getDate())
+                .startTime(entry.getStartTime())
+                .endTime(entry.getEndTime())
+                .duration(minutesBetween(entry.getStartTime(), entry.getEndTime()))
+                .status(BookingStatus.HELD)
+                .paymentStatus(PaymentStatus.PENDING)
+                .holdExpiresAt(slotHoldService.newExpiry())
+                .build();
+        Booking held;
+        try {
+            held = slotAdmissionService.admit(null, slot, () -> {
+                Booking saved = bookingRepository.save(booking);
+                if (waitlistRepository.markPromoted(entryId, saved.getId()) == 0) {
+                    throw new IllegalStateException("Waitlist entry " + entryId + " is no longer waiting");
+                }
+                return saved;
+            });
+        } catch (ResponseStatusException e) {
+            // Another request or node took the time first; keep waiting
+            return;
+        } catch (IllegalStateException e) {
+            // Cancelled or promoted by another node since the read
+            return;
+        }
+        slotHoldService.track(held.getId(), held.getHoldExpiresAt());
+        log.info("Waitlist entry {} promoted to hold {} on court {}", entryId, held.getId(), slot.courtId());
+        notifyPromoted(entry, held);
+    }
+
+    private void notifyPromoted(WaitlistEntry entry, Booking held) {
+        try {
+            User user = userRepository.findById(entry.getUserId()).orElse(null);
+            if (user == null || user.getEmail() == null) {
+                return;
+            }
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(user.getEmail());
+            message.setSubject("QuickCourt - Your waitlisted slot is available");
+            message.setText(String.format("""
+                Hello!
+
+                The court you were waiting for on %s from %s to %s is now held for you.
+
+                Please confirm and pay before %s, or the slot goes to the next person in line.
+
+                Best regards,
+                QuickCourt Team
+                """, entry.getDate(), entry.getStartTime(), entry.getEndTime(), held.getHoldExpiresAt()));
+            if (!mailOutbox.enqueue(message)) {
+                log.warn("Mail outbox full, not notifying user {} about hold {}", entry.getUserId(), held.getId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to notify user {} about hold {}", entry.getUserId(), held.getId(), e);
+        }
+    }
+
+    private Integer position(WaitlistEntry entry) {
+        return (int) waitlistRepository.countWaitingAhead(entry.getCourtId(), entry.getDate(),
+                entry.getQueuedAt(), entry.getId()) + 1;
+    }
+
+    private static int minutesBetween(LocalTime start, LocalTime end) {
+        Duration duration = Duration.between(start, end);
+        return (int) (duration.isNegative() || duration.isZero() ? duration.plusDays(1) : duration).toMinutes();
+    }
+
+    private WaitlistEntryDto mapToDto(WaitlistEntry entry, Integer position) {
+        return WaitlistEntryDto.builder()
+                .id(entry.getId())
+                .userId(entry.getUserId())
+                .courtId(entry.getCourtId())
+                .date(entry.getDate())
+                .startTime(entry.getStartTime())
+                .endTime(entry.getEndTime())
+                .status(entry.getStatus().name())
+                .position(position)
+                .bookingId(entry.getBookingId())
+                .build();
+    }
+
+    private record DayKey(String courtId, LocalDate date) {
+    }
+}
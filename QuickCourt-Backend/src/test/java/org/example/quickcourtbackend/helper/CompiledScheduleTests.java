@@ -0,0 +1,41 @@
+package org.example.quickcourtbackend.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledScheduleTests {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void offGridOpeningHoursRoundInward() {
+        CompiledSchedule schedule = CompiledSchedule.builder()
+                .open(DayOfWeek.MONDAY, LocalTime.of(9, 10), LocalTime.of(21, 50))
+                .build();
+
+        assertFalse(schedule.isOpen(MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertFalse(schedule.isOpen(MONDAY, LocalTime.of(9, 10), LocalTime.of(10, 0)));
+        assertTrue(schedule.isOpen(MONDAY, LocalTime.of(9, 15), LocalTime.of(10, 0)));
+        assertTrue(schedule.isOpen(MONDAY, LocalTime.of(20, 45), LocalTime.of(21, 45)));
+        assertFalse(schedule.isOpen(MONDAY, LocalTime.of(21, 0), LocalTime.of(22, 0)));
+        assertEquals(SlotBitmap.of(LocalTime.of(9, 15), LocalTime.of(21, 45)), schedule.openSlots(MONDAY));
+    }
+
+    @Test
+    void exceptionsRoundInwardAndReplaceTheWeeklyHours() {
+        CompiledSchedule schedule = CompiledSchedule.builder()
+                .open(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(22, 0))
+                .exception(MONDAY, MONDAY, LocalTime.of(12, 5), LocalTime.of(12, 20))
+                .build();
+
+        assertTrue(schedule.openSlots(MONDAY).isEmpty());
+        assertTrue(schedule.isOpen(MONDAY.plusWeeks(1), LocalTime.of(8, 0), LocalTime.of(22, 0)));
+        assertFalse(schedule.isOpen(MONDAY.plusDays(1), LocalTime.of(8, 0), LocalTime.of(9, 0)));
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.quickcourtbackend.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTests {
+
+    @Test
+    void entriesDisappearAtTheirOwnExpiry() {
+        AtomicLong now = new AtomicLong(1_000);
+        ExpiringCache<String, String> cache = new ExpiringCache<>(16, 4, now::get);
+        cache.put("short", "a", 1_500);
+        cache.put("long", "b", 5_000);
+
+        assertEquals("a", cache.get("short"));
+        now.set(1_500);
+        assertNull(cache.get("short"));
+        assertEquals("b", cache.get("long"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void alreadyExpiredValuesAreNotStored() {
+        AtomicLong now = new AtomicLong(1_000);
+        ExpiringCache<String, String> cache = new ExpiringCache<>(16, 4, now::get);
+        cache.put("stale", "a", 1_000);
+
+        assertNull(cache.get("stale"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondCapacity() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(2, 1, () -> 0);
+        cache.put(1, 1, 10);
+        cache.put(2, 2, 10);
+        cache.get(1);
+        cache.put(3, 3, 10);
+
+        assertEquals(1, cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals(3, cache.get(3));
+    }
+
+    @Test
+    void neverGrowsPastCapacity() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(1_000, 16, () -> 0);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i, 10);
+        }
+        assertTrue(cache.size() <= 1_000);
+    }
+}
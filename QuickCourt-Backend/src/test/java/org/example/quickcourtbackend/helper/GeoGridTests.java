@@ -0,0 +1,64 @@
+package org.example.quickcourtbackend.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridTests {
+
+    @Test
+    void radiusSearchIsDistanceSortedAndExact() {
+        GeoGrid grid = new GeoGrid(0.1);
+        grid.put("bandra", 19.0596, 72.8295);
+        grid.put("andheri", 19.1136, 72.8697);
+        grid.put("pune", 18.5204, 73.8567);
+
+        List<GeoGrid.Hit> hits = grid.withinRadius(19.0760, 72.8777, 20);
+        assertEquals(List.of("andheri", "bandra"), hits.stream().map(GeoGrid.Hit::id).toList());
+        assertTrue(hits.get(0).distanceKm() < hits.get(1).distanceKm());
+    }
+
+    @Test
+    void radiusSearchWrapsAroundTheAntimeridian() {
+        GeoGrid grid = new GeoGrid(0.5);
+        grid.put("east", 0, 179.9);
+        grid.put("west", 0, -179.9);
+
+        assertEquals(2, grid.withinRadius(0, 179.95, 50).size());
+    }
+
+    @Test
+    void nearestExpandsUntilItHasEnoughPointsAndFollowsUpdates() {
+        GeoGrid grid = new GeoGrid(0.1);
+        grid.put("near", 12.97, 77.59);
+        grid.put("far", 28.61, 77.21);
+
+        assertEquals(List.of("near", "far"), grid.nearest(12.97, 77.60, 2).stream().map(GeoGrid.Hit::id).toList());
+
+        grid.put("near", 28.70, 77.10);
+        grid.remove("far");
+        List<GeoGrid.Hit> moved = grid.nearest(12.97, 77.60, 5);
+        assertEquals(1, moved.size());
+        assertTrue(moved.get(0).distanceKm() > 1000);
+    }
+
+    @Test
+    void wideSearchesOverSparseDataOnlyVisitOccupiedCells() {
+        // 0.001 degree cells put billions of cells in a hemisphere-wide box
+        GeoGrid grid = new GeoGrid(0.001);
+        grid.put("mumbai", 19.0760, 72.8777);
+        grid.put("sydney", -33.8688, 151.2093);
+
+        List<GeoGrid.Hit> hits = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> grid.withinRadius(19.0, 72.9, GeoGrid.MAX_DISTANCE_KM));
+        assertEquals(List.of("mumbai", "sydney"), hits.stream().map(GeoGrid.Hit::id).toList());
+
+        List<GeoGrid.Hit> nearest = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> grid.nearest(19.0, 72.9, 10));
+        assertEquals(List.of("mumbai", "sydney"), nearest.stream().map(GeoGrid.Hit::id).toList());
+        assertEquals(2, grid.nearest(0, 0, 3).size());
+    }
+}
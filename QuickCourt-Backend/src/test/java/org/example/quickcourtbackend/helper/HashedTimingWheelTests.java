@@ -0,0 +1,114 @@
+package org.example.quickcourtbackend.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTests {
+
+    // 8 buckets of 10 ms: one revolution is 80 ms
+    private static final Duration TICK = Duration.ofMillis(10);
+    private static final int WHEEL_SIZE = 8;
+
+    @Test
+    void firesInDeadlineOrderAcrossRotations() throws Exception {
+        List<Integer> delays = List.of(250, 30, 170, 90, 5, 410);
+        List<Integer> fired = Collections.synchronizedList(new ArrayList<>());
+        Map<Integer, Long> firedAfterMillis = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(delays.size());
+        long started = System.nanoTime();
+        try (HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>("wheel-order", TICK, WHEEL_SIZE, delay -> {
+            firedAfterMillis.put(delay, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            fired.add(delay);
+            done.countDown();
+        })) {
+            delays.forEach(delay -> wheel.schedule(delay, Duration.ofMillis(delay)));
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(5, 30, 90, 170, 250, 410), fired);
+            firedAfterMillis.forEach((delay, after) -> assertTrue(after >= delay, delay + " ms fired after " + after + " ms"));
+            assertEquals(0, wheel.pendingCount());
+        }
+    }
+
+    @Test
+    void delayLongerThanSeveralRevolutionsDoesNotFireEarly() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        try (HashedTimingWheel<String> wheel = new HashedTimingWheel<>("wheel-rounds", TICK, WHEEL_SIZE, item -> fired.countDown())) {
+            // Lands in the current bucket three revolutions from now
+            wheel.schedule("late", TICK.multipliedBy(WHEEL_SIZE * 3L));
+
+            assertFalse(fired.await(150, TimeUnit.MILLISECONDS));
+            assertEquals(1, wheel.pendingCount());
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() throws Exception {
+        List<String> fired = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch kept = new CountDownLatch(1);
+        try (HashedTimingWheel<String> wheel = new HashedTimingWheel<>("wheel-cancel", TICK, WHEEL_SIZE, item -> {
+            fired.add(item);
+            kept.countDown();
+        })) {
+            HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", Duration.ofMillis(30));
+            HashedTimingWheel.Timeout<String> firing = wheel.schedule("kept", Duration.ofMillis(60));
+            assertEquals(2, wheel.pendingCount());
+
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel());
+            assertEquals(1, wheel.pendingCount());
+
+            assertTrue(kept.await(5, TimeUnit.SECONDS));
+            assertFalse(firing.cancel());
+            assertEquals(List.of("kept"), fired);
+            assertEquals(0, wheel.pendingCount());
+        }
+    }
+
+    @Test
+    void failingHandlerDoesNotStopTheWheel() throws Exception {
+        CountDownLatch second = new CountDownLatch(1);
+        try (HashedTimingWheel<String> wheel = new HashedTimingWheel<>("wheel-failing", TICK, WHEEL_SIZE, item -> {
+            if (item.equals("first")) {
+                throw new IllegalStateException("boom");
+            }
+            second.countDown();
+        })) {
+            wheel.schedule("first", Duration.ofMillis(10));
+            wheel.schedule("second", Duration.ofMillis(40));
+
+            assertTrue(second.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void closeStopsTheWorkerAndDropsPendingTimeouts() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>("wheel-close", TICK, WHEEL_SIZE, item -> fired.countDown());
+        wheel.schedule("pending", Duration.ofMillis(50));
+
+        wheel.close();
+        wheel.schedule("after-close", Duration.ZERO);
+
+        assertFalse(fired.await(200, TimeUnit.MILLISECONDS));
+        Thread worker = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("wheel-close"))
+                .findFirst()
+                .orElse(null);
+        if (worker != null) {
+            worker.join(1000);
+            assertFalse(worker.isAlive());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.quickcourtbackend.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryOtpStoreTests {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    @Test
+    void correctCodeVerifiesOnce() {
+        try (InMemoryOtpStore store = new InMemoryOtpStore(10, TICK)) {
+            store.put("a@example.com", "123456", System.currentTimeMillis() + 60_000);
+
+            assertEquals(OtpStore.Result.VERIFIED, store.verify("a@example.com", "123456", 3));
+            assertEquals(OtpStore.Result.NOT_FOUND, store.verify("a@example.com", "123456", 3));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void wrongGuessesAreCappedAtMaxAttempts() {
+        try (InMemoryOtpStore store = new InMemoryOtpStore(10, TICK)) {
+            store.put("a@example.com", "123456", System.currentTimeMillis() + 60_000);
+
+            assertEquals(OtpStore.Result.INVALID, store.verify("a@example.com", "000000", 3));
+            assertEquals(OtpStore.Result.INVALID, store.verify("a@example.com", "000001", 3));
+            assertEquals(OtpStore.Result.INVALID, store.verify("a@example.com", "000002", 3));
+            assertEquals(OtpStore.Result.TOO_MANY_ATTEMPTS, store.verify("a@example.com", "123456", 3));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void expiredCodeIsRejectedOnRead() {
+        AtomicLong now = new AtomicLong(1_000);
+        try (InMemoryOtpStore store = new InMemoryOtpStore(10, Duration.ofHours(1), now::get)) {
+            store.put("a@example.com", "123456", 2_000);
+            assertFalse(store.isExpired("a@example.com"));
+
+            now.set(2_000);
+            assertTrue(store.isExpired("a@example.com"));
+            assertEquals(OtpStore.Result.EXPIRED, store.verify("a@example.com", "123456", 3));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void wheelEvictsCodesThatAreNeverVerified() throws InterruptedException {
+        try (InMemoryOtpStore store = new InMemoryOtpStore(10, TICK)) {
+            store.put("a@example.com", "123456", System.currentTimeMillis() + 50);
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (store.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void refusesNewEmailsWhenFullButReplacesExistingOnes() {
+        try (InMemoryOtpStore store = new InMemoryOtpStore(2, TICK)) {
+            long expiry = System.currentTimeMillis() + 60_000;
+            assertTrue(store.put("a@example.com", "111111", expiry));
+            assertTrue(store.put("b@example.com", "222222", expiry));
+            assertFalse(store.put("c@example.com", "333333", expiry));
+
+            assertTrue(store.put("a@example.com", "444444", expiry));
+            assertEquals(2, store.size());
+            assertEquals(OtpStore.Result.INVALID, store.verify("a@example.com", "111111", 3));
+            assertEquals(OtpStore.Result.VERIFIED, store.verify("a@example.com", "444444", 3));
+            assertTrue(store.put("c@example.com", "333333", expiry));
+        }
+    }
+
+    @Test
+    void concurrentGuessesNeverExceedTheLimit() throws InterruptedException {
+        try (InMemoryOtpStore store = new InMemoryOtpStore(10, TICK)) {
+            store.put("a@example.com", "123456", System.currentTimeMillis() + 60_000);
+            int threads = 32;
+            AtomicInteger counted = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(threads);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        if (store.verify("a@example.com", "000000", 5) == OtpStore.Result.INVALID) {
+                            counted.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            done.await();
+            executor.shutdown();
+
+            assertEquals(5, counted.get());
+        }
+    }
+}
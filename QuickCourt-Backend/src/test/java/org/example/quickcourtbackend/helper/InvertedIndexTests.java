@@ -0,0 +1,61 @@
+package org.example.quickcourtbackend.helper;
+
+import org.example.quickcourtbackend.helper.InvertedIndex.Field;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTests {
+
+    private static List<String> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::documentId).toList();
+    }
+
+    @Test
+    void matchesEveryWordAndCompletesTheLastOne() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("court:1", List.of(new Field("Court 1", 3), new Field("BADMINTON", 2), new Field("Andh\u00e9ri", 1)));
+        index.put("court:2", List.of(new Field("Court 2", 3), new Field("TABLE TENNIS", 2), new Field("Bandra", 1)));
+
+        assertEquals(List.of("court:1"), ids(index.search("badminton andh", 10, id -> true)));
+        assertEquals(List.of("court:1"), ids(index.search("Andheri", 10, id -> true)));
+        assertTrue(index.search("badm bandra", 10, id -> true).isEmpty());
+        assertEquals(List.of("badminton", "bandra"), index.complete("ba", 10));
+    }
+
+    @Test
+    void ranksByFieldWeightAndFollowsUpdates() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("facility:1", List.of(new Field("Smash Arena", 3)));
+        index.put("court:1", List.of(new Field("Court 1", 3), new Field("Smash Arena", 1)));
+
+        assertEquals(List.of("facility:1", "court:1"), ids(index.search("smash", 10, id -> true)));
+        assertEquals(List.of("court:1"), ids(index.search("smash", 10, id -> id.startsWith("court:"))));
+
+        index.put("facility:1", List.of(new Field("Rally Point", 3)));
+        assertEquals(List.of("court:1"), ids(index.search("smash", 10, id -> true)));
+        index.remove("court:1");
+        assertTrue(index.search("sma", 10, id -> true).isEmpty());
+    }
+
+    @Test
+    void prefixExpansionKeepsTheWidestTermsWhenCapped() {
+        InvertedIndex index = new InvertedIndex();
+        // 100 single-document terms sort before the one term every popular document shares
+        for (int i = 0; i < 100; i++) {
+            index.put("rare:" + i, List.of(new Field(String.format("pa%03d", i), 1)));
+        }
+        for (int i = 0; i < 5; i++) {
+            index.put("popular:" + i, List.of(new Field("pz", 1)));
+        }
+
+        List<String> hits = ids(index.search("p", 200, id -> true));
+        assertTrue(hits.containsAll(List.of("popular:0", "popular:1", "popular:2", "popular:3", "popular:4")));
+        assertEquals(64 + 4, hits.size());
+        assertEquals("pz", index.complete("p", 1).get(0));
+        // The exact term survives the cut even though it is as rare as the others
+        assertEquals(List.of("rare:99"), ids(index.search("pa099", 10, id -> true)));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.quickcourtbackend.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotBitmapTests {
+
+    @Test
+    void roundsToSlotGridAndTreatsMidnightAsEndOfDay() {
+        SlotBitmap bits = SlotBitmap.of(LocalTime.of(10, 10), LocalTime.of(11, 5));
+        assertEquals(5, bits.cardinality());
+        assertTrue(bits.isSet(40));
+        assertTrue(bits.isSet(44));
+
+        SlotBitmap evening = SlotBitmap.of(LocalTime.of(23, 0), LocalTime.MIDNIGHT);
+        assertEquals(4, evening.cardinality());
+        assertTrue(evening.isSet(SlotBitmap.SLOTS_PER_DAY - 1));
+    }
+
+    @Test
+    void withinKeepsOnlyWholeSlots() {
+        assertEquals(SlotBitmap.of(LocalTime.of(9, 15), LocalTime.of(21, 45)),
+                SlotBitmap.within(LocalTime.of(9, 10), LocalTime.of(21, 50)));
+        assertEquals(SlotBitmap.of(LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                SlotBitmap.within(LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertTrue(SlotBitmap.within(LocalTime.of(12, 5), LocalTime.of(12, 20)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> SlotBitmap.within(LocalTime.of(12, 0), LocalTime.of(11, 0)));
+    }
+
+    @Test
+    void detectsOverlapAcrossWordBoundary() {
+        SlotBitmap booked = SlotBitmap.of(LocalTime.of(15, 0), LocalTime.of(17, 0));
+        assertTrue(booked.intersects(SlotBitmap.of(LocalTime.of(16, 45), LocalTime.of(18, 0))));
+        assertFalse(booked.intersects(SlotBitmap.of(LocalTime.of(17, 0), LocalTime.of(18, 0))));
+        assertFalse(booked.intersects(SlotBitmap.of(LocalTime.of(14, 0), LocalTime.of(15, 0))));
+    }
+
+    @Test
+    void listsFreeRuns() {
+        SlotBitmap bits = SlotBitmap.of(LocalTime.of(10, 0), LocalTime.of(11, 0))
+                .or(SlotBitmap.of(LocalTime.of(17, 0), LocalTime.MIDNIGHT));
+
+        List<int[]> runs = bits.freeRuns();
+        assertEquals(2, runs.size());
+        assertArrayEquals(new int[]{0, 40}, runs.get(0));
+        assertArrayEquals(new int[]{44, 68}, runs.get(1));
+        assertEquals(1, SlotBitmap.EMPTY.freeRuns().size());
+        assertTrue(SlotBitmap.range(0, SlotBitmap.SLOTS_PER_DAY).freeRuns().isEmpty());
+    }
+
+    @Test
+    void rejectsEmptyRanges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SlotBitmap.of(LocalTime.of(12, 0), LocalTime.of(12, 0)));
+    }
+}
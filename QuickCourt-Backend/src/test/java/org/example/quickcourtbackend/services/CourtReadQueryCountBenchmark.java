@@ -0,0 +1,228 @@
+package org.example.quickcourtbackend.services;
+
+import org.example.quickcourtbackend.dtos.CourtResponseDto;
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.MatchStatus;
+import org.example.quickcourtbackend.enums.PaymentStatus;
+import org.example.quickcourtbackend.enums.SportType;
+import org.example.quickcourtbackend.enums.UserRole;
+import org.example.quickcourtbackend.models.Booking;
+import org.example.quickcourtbackend.models.Court;
+import org.example.quickcourtbackend.models.Facility;
+import org.example.quickcourtbackend.models.Match;
+import org.example.quickcourtbackend.models.User;
+import org.example.quickcourtbackend.repositories.BookingRepository;
+import org.example.quickcourtbackend.repositories.CourtRepository;
+import org.example.quickcourtbackend.repositories.FacilityRepository;
+import org.example.quickcourtbackend.repositories.MatchRepository;
+import org.example.quickcourtbackend.repositories.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements and latency of {@link CourtService#getAllCourts()} over {@value #COURTS} seeded courts, against
+ * the old entity path that touched each court's availabilities, bookings and matches. Statements are counted
+ * per thread, so the scheduled jobs running in the same context do not skew the numbers.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.quickcourtbackend.services.CourtReadQueryCountBenchmark$ThreadStatementCounter")
+class CourtReadQueryCountBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(CourtReadQueryCountBenchmark.class);
+
+    private static final int COURTS = 200;
+    private static final int BOOKINGS_PER_COURT = 3;
+    private static final int RUNS = 5;
+    // CourtService.READ_BATCH_SIZE
+    private static final int READ_BATCH_SIZE = 500;
+
+    @Autowired
+    private CourtService courtService;
+    @Autowired
+    private CourtRepository courtRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private FacilityRepository facilityRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private Facility facility;
+    private List<Court> courts;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .firstName("Bench")
+                .lastName("Owner")
+                .email("courts-" + run + "@example.test")
+                .password("x")
+                .phoneNumber("0000000000")
+                .role(UserRole.OWNER)
+                .build());
+        facility = facilityRepository.save(Facility.builder()
+                .owner(user)
+                .name("Court Read Arena " + run)
+                .address("1 Test Road")
+                .city("Testville")
+                .state("TS")
+                .zipCode("000000")
+                .build());
+        courts = courtRepository.saveAll(IntStream.range(0, COURTS)
+                .mapToObj(i -> Court.builder()
+                        .facility(facility)
+                        .name("Court " + i)
+                        .sportType(SportType.BADMINTON)
+                        .pricePerHour(100.0)
+                        .build())
+                .toList());
+
+        LocalDate date = LocalDate.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        List<Match> matches = new ArrayList<>();
+        for (Court court : courts) {
+            for (int i = 0; i < BOOKINGS_PER_COURT; i++) {
+                bookings.add(Booking.builder()
+                        .user(user)
+                        .court(court)
+                        .date(date)
+                        .startTime(LocalTime.of(8 + i, 0))
+                        .endTime(LocalTime.of(9 + i, 0))
+                        .duration(60)
+                        .status(BookingStatus.CONFIRMED)
+                        .paymentStatus(PaymentStatus.PAID)
+                        .build());
+            }
+            matches.add(Match.builder()
+                    .creator(user)
+                    .court(court)
+                    .date(date)
+                    .startTime(LocalTime.of(18, 0))
+                    .endTime(LocalTime.of(19, 0))
+                    .maxPlayers(4)
+                    .currentPlayers(1)
+                    .status(MatchStatus.OPEN)
+                    .build());
+        }
+        bookingRepository.saveAll(bookings);
+        matchRepository.saveAll(matches);
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<String> courtIds = courts.stream().map(Court::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> courtIds.forEach(courtId -> {
+            bookingRepository.deleteAll(bookingRepository.findByCourtId(courtId));
+            courtRepository.deleteById(courtId);
+        }));
+        facilityRepository.deleteById(facility.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void projectionReadsUseFourStatementsPerBatch() {
+        long totalCourts = courtRepository.count();
+
+        Measurement projections = measure(() -> courtService.getAllCourts().size());
+        Measurement entities = measure(() -> transactionTemplate.execute(status -> {
+            // What mapToResponseDto did before: every lazy collection of every court
+            List<Court> all = courtRepository.findAll();
+            all.forEach(court -> {
+                court.getAvailabilities().size();
+                court.getBookings().size();
+                court.getMatches().size();
+            });
+            return all.size();
+        }));
+
+        log.info("getAllCourts over {} courts: {} statements, median {} ms", totalCourts,
+                projections.statements(), projections.medianMillis());
+        log.info("Entity path over {} courts: {} statements, median {} ms", totalCourts,
+                entities.statements(), entities.medianMillis());
+
+        assertEquals(totalCourts, projections.rows());
+        assertTrue(projections.statements() <= 4 * (totalCourts / READ_BATCH_SIZE + 1),
+                "Expected at most four statements per batch of courts, got " + projections.statements());
+        List<CourtResponseDto> seeded = courtService.getAllCourts().stream()
+                .filter(dto -> facility.getId().equals(dto.getFacilityId()))
+                .toList();
+        assertEquals(COURTS, seeded.size());
+        seeded.forEach(dto -> {
+            assertEquals(BOOKINGS_PER_COURT, dto.getBookingCount());
+            assertEquals(1, dto.getMatchCount());
+        });
+    }
+
+    // One warm-up call, then RUNS timed calls; statements are those of the last call
+    private static Measurement measure(Supplier<Integer> read) {
+        read.get();
+        long[] nanos = new long[RUNS];
+        int rows = 0;
+        int statements = 0;
+        for (int i = 0; i < RUNS; i++) {
+            ThreadStatementCounter.start();
+            long began = System.nanoTime();
+            rows = read.get();
+            nanos[i] = System.nanoTime() - began;
+            statements = ThreadStatementCounter.stop();
+        }
+        Arrays.sort(nanos);
+        return new Measurement(rows, statements, nanos[RUNS / 2] / 1_000_000);
+    }
+
+    private record Measurement(int rows, int statements, long medianMillis) {
+    }
+
+    /**
+     * Counts the SQL statements Hibernate prepares on threads that called {@link #start()}.
+     */
+    public static class ThreadStatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+        static void start() {
+            COUNT.set(new int[1]);
+        }
+
+        static int stop() {
+            int count = COUNT.get()[0];
+            COUNT.remove();
+            return count;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            int[] count = COUNT.get();
+            if (count != null) {
+                count[0]++;
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.quickcourtbackend.services;
+
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.MatchStatus;
+import org.example.quickcourtbackend.enums.PaymentStatus;
+import org.example.quickcourtbackend.enums.SportType;
+import org.example.quickcourtbackend.enums.UserRole;
+import org.example.quickcourtbackend.models.Booking;
+import org.example.quickcourtbackend.models.Court;
+import org.example.quickcourtbackend.models.Facility;
+import org.example.quickcourtbackend.models.Match;
+import org.example.quickcourtbackend.models.User;
+import org.example.quickcourtbackend.repositories.BookingRepository;
+import org.example.quickcourtbackend.repositories.CourtRepository;
+import org.example.quickcourtbackend.repositories.FacilityRepository;
+import org.example.quickcourtbackend.repositories.MatchRepository;
+import org.example.quickcourtbackend.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The "ended" queries behind {@link StateTransitionJob} around midnight, where a reservation ending at 00:00
+ * ends on the following day. Reservations are dated decades ahead, so the scheduled job never touches them.
+ * Tagged out of the default test task; ./gradlew integrationTest runs it against TEST_DB_URL.
+ */
+@Tag("integration")
+@SpringBootTest
+class EndedReservationQueryTests {
+
+    private static final LocalDate DAY = LocalDate.now().plusYears(50);
+    private static final Set<MatchStatus> ACTIVE_MATCH = Set.of(MatchStatus.OPEN, MatchStatus.FULL);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FacilityRepository facilityRepository;
+    @Autowired
+    private CourtRepository courtRepository;
+
+    private User user;
+    private Facility facility;
+    private Court court;
+    private Booking morning;
+    private Booking lateTonight;
+    private Booking lateLastNight;
+    private Match lateTonightMatch;
+    private Match lateLastNightMatch;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .firstName("Night")
+                .lastName("Owl")
+                .email("ended-" + run + "@example.test")
+                .password("x")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+        facility = facilityRepository.save(Facility.builder()
+                .owner(user)
+                .name("Midnight Arena " + run)
+                .address("1 Test Road")
+                .city("Testville")
+                .state("TS")
+                .zipCode("000000")
+                .build());
+        court = courtRepository.save(Court.builder()
+                .facility(facility)
+                .name("Court 1")
+                .sportType(SportType.BADMINTON)
+                .pricePerHour(100.0)
+                .build());
+        morning = bookingRepository.save(booking(DAY, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        lateTonight = bookingRepository.save(booking(DAY, LocalTime.of(23, 0), LocalTime.MIDNIGHT));
+        lateLastNight = bookingRepository.save(booking(DAY.minusDays(1), LocalTime.of(23, 0), LocalTime.MIDNIGHT));
+        lateTonightMatch = matchRepository.save(match(DAY));
+        lateLastNightMatch = matchRepository.save(match(DAY.minusDays(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchRepository.deleteAll(List.of(lateTonightMatch, lateLastNightMatch));
+        bookingRepository.deleteAll(List.of(morning, lateTonight, lateLastNight));
+        courtRepository.deleteById(court.getId());
+        facilityRepository.deleteById(facility.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void reservationsEndingAtMidnightAreNotEndedBeforeTheirDayIsOver() {
+        for (LocalTime now : List.of(LocalTime.of(0, 5), LocalTime.of(12, 0), LocalTime.of(23, 59, 59))) {
+            List<String> bookings = endedBookings(now);
+            assertTrue(bookings.contains(lateLastNight.getId()), "Last night's booking is over at " + now);
+            assertFalse(bookings.contains(lateTonight.getId()), "Tonight's booking is not over at " + now);
+
+            List<String> matches = endedMatches(now);
+            assertTrue(matches.contains(lateLastNightMatch.getId()), "Last night's match is over at " + now);
+            assertFalse(matches.contains(lateTonightMatch.getId()), "Tonight's match is not over at " + now);
+        }
+    }
+
+    @Test
+    void sameDayReservationsEndWhenTheirEndTimePasses() {
+        assertFalse(endedBookings(LocalTime.of(8, 59)).contains(morning.getId()));
+        assertTrue(endedBookings(LocalTime.of(9, 0)).contains(morning.getId()));
+    }
+
+    private List<String> endedBookings(LocalTime now) {
+        return bookingRepository.findEndedIds(BookingStatus.CONFIRMED, DAY, now, LocalTime.MIDNIGHT, Limit.unlimited());
+    }
+
+    private List<String> endedMatches(LocalTime now) {
+        return matchRepository.findEndedIds(ACTIVE_MATCH, DAY, now, LocalTime.MIDNIGHT, Limit.unlimited());
+    }
+
+    private Booking booking(LocalDate date, LocalTime start, LocalTime end) {
+        return Booking.builder()
+                .user(user)
+                .court(court)
+                .date(date)
+                .startTime(start)
+                .endTime(end)
+                .duration(60)
+                .status(BookingStatus.CONFIRMED)
+                .paymentStatus(PaymentStatus.PAID)
+                .build();
+    }
+
+    private Match match(LocalDate date) {
+        return Match.builder()
+                .creator(user)
+                .court(court)
+                .date(date)
+                .startTime(LocalTime.of(23, 0))
+                .endTime(LocalTime.MIDNIGHT)
+                .maxPlayers(4)
+                .currentPlayers(1)
+                .status(MatchStatus.OPEN)
+                .build();
+    }
+}
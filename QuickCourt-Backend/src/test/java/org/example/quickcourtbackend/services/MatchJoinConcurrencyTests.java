@@ -0,0 +1,202 @@
+package org.example.quickcourtbackend.services;
+
+import org.example.quickcourtbackend.dtos.MatchJoinRequestDto;
+import org.example.quickcourtbackend.enums.MatchStatus;
+import org.example.quickcourtbackend.enums.SportType;
+import org.example.quickcourtbackend.enums.UserRole;
+import org.example.quickcourtbackend.models.Court;
+import org.example.quickcourtbackend.models.Facility;
+import org.example.quickcourtbackend.models.Match;
+import org.example.quickcourtbackend.models.MatchParticipant;
+import org.example.quickcourtbackend.models.User;
+import org.example.quickcourtbackend.repositories.CourtRepository;
+import org.example.quickcourtbackend.repositories.FacilityRepository;
+import org.example.quickcourtbackend.repositories.MatchParticipantRepository;
+import org.example.quickcourtbackend.repositories.MatchRepository;
+import org.example.quickcourtbackend.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joins against a real database: hundreds of users race for the places of one match at the same moment.
+ * Tagged out of the default test task; ./gradlew integrationTest runs it against TEST_DB_URL.
+ */
+@Tag("integration")
+@SpringBootTest
+class MatchJoinConcurrencyTests {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchJoinConcurrencyTests.class);
+
+    private static final int JOINERS = 300;
+    private static final int CAPACITY = 25;
+
+    @Autowired
+    private MatchService matchService;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private MatchParticipantRepository matchParticipantRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FacilityRepository facilityRepository;
+    @Autowired
+    private CourtRepository courtRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private Facility facility;
+    private Court court;
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        users.addAll(userRepository.saveAll(IntStream.rangeClosed(0, JOINERS)
+                .mapToObj(i -> User.builder()
+                        .firstName("Player")
+                        .lastName(String.valueOf(i))
+                        .email("join-" + run + "-" + i + "@example.test")
+                        .password("x")
+                        .phoneNumber("0000000000")
+                        .role(UserRole.USER)
+                        .build())
+                .toList()));
+        facility = facilityRepository.save(Facility.builder()
+                .owner(users.get(0))
+                .name("Concurrency Arena " + run)
+                .address("1 Test Road")
+                .city("Testville")
+                .state("TS")
+                .zipCode("000000")
+                .build());
+        court = courtRepository.save(Court.builder()
+                .facility(facility)
+                .name("Court 1")
+                .sportType(SportType.BADMINTON)
+                .pricePerHour(100.0)
+                .build());
+        match = matchRepository.save(Match.builder()
+                .creator(users.get(0))
+                .court(court)
+                .date(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(11, 0))
+                .maxPlayers(CAPACITY)
+                .currentPlayers(1)
+                .status(MatchStatus.OPEN)
+                .build());
+        matchParticipantRepository.save(MatchParticipant.builder()
+                .matchId(match.getId())
+                .userId(users.get(0).getId())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> matchParticipantRepository.deleteByMatch(match.getId()));
+        matchRepository.deleteById(match.getId());
+        courtRepository.deleteById(court.getId());
+        facilityRepository.deleteById(facility.getId());
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void simultaneousJoinersNeverOverfillTheMatch() throws Exception {
+        List<String> joiners = users.subList(1, users.size()).stream().map(User::getId).toList();
+        AtomicInteger joined = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long elapsedNanos = race(joiners, userId -> {
+            try {
+                matchService.joinMatch(match.getId(), new MatchJoinRequestDto(userId));
+                joined.incrementAndGet();
+            } catch (ResponseStatusException e) {
+                assertEquals(409, e.getStatusCode().value());
+                rejected.incrementAndGet();
+            }
+        });
+
+        Match after = matchService.getMatchById(match.getId());
+        assertEquals(CAPACITY - 1, joined.get());
+        assertEquals(JOINERS - (CAPACITY - 1), rejected.get());
+        assertEquals(CAPACITY, after.getCurrentPlayers());
+        assertEquals(MatchStatus.FULL, after.getStatus());
+        assertEquals(CAPACITY, matchParticipantRepository.countByMatchId(match.getId()));
+        log.info("{} join attempts in {} ms", JOINERS, elapsedNanos / 1_000_000);
+
+        String leaver = matchParticipantRepository.findUserIdsByMatchId(match.getId()).get(1);
+        Match reopened = matchService.leaveMatch(match.getId(), leaver);
+        assertEquals(CAPACITY - 1, reopened.getCurrentPlayers());
+        assertEquals(MatchStatus.OPEN, reopened.getStatus());
+    }
+
+    @Test
+    void repeatedJoinsBySameUserTakeOnePlace() throws Exception {
+        String userId = users.get(1).getId();
+        AtomicInteger joined = new AtomicInteger();
+
+        race(IntStream.range(0, 50).mapToObj(i -> userId).toList(), id -> {
+            try {
+                matchService.joinMatch(match.getId(), new MatchJoinRequestDto(id));
+                joined.incrementAndGet();
+            } catch (ResponseStatusException e) {
+                assertEquals(409, e.getStatusCode().value());
+            }
+        });
+
+        assertEquals(1, joined.get());
+        assertEquals(2, matchService.getMatchById(match.getId()).getCurrentPlayers());
+        assertEquals(2, matchParticipantRepository.countByMatchId(match.getId()));
+    }
+
+    // Releases every task at once and returns how long they took to finish
+    private static long race(List<String> userIds, ThrowingConsumer task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        long elapsed;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String userId : userIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.accept(userId);
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsed = System.nanoTime() - started;
+        }
+        return elapsed;
+    }
+
+    private interface ThrowingConsumer {
+        void accept(String userId) throws Exception;
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.quickcourtbackend.services;
+
+import org.example.quickcourtbackend.enums.BookingStatus;
+import org.example.quickcourtbackend.enums.PaymentStatus;
+import org.example.quickcourtbackend.enums.SportType;
+import org.example.quickcourtbackend.enums.UserRole;
+import org.example.quickcourtbackend.models.Booking;
+import org.example.quickcourtbackend.models.Court;
+import org.example.quickcourtbackend.models.Facility;
+import org.example.quickcourtbackend.models.User;
+import org.example.quickcourtbackend.repositories.BookingRepository;
+import org.example.quickcourtbackend.repositories.CourtRepository;
+import org.example.quickcourtbackend.repositories.FacilityRepository;
+import org.example.quickcourtbackend.repositories.SlotClaimRepository;
+import org.example.quickcourtbackend.repositories.UserRepository;
+import org.example.quickcourtbackend.services.AvailabilityIndex.CourtSlot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contention throughput of {@link SlotAdmissionService} against the plain alternative: lock the court row
+ * with SELECT ... FOR UPDATE, look for an overlapping booking, insert. Each round releases every contender
+ * for one court-day at once, {@value #CONTENDERS_PER_SLOT} per one-hour slot. Needs a database, so it is
+ * tagged out of the default test task; run it with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class SlotAdmissionContentionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotAdmissionContentionBenchmark.class);
+
+    private static final int SLOTS = 12;
+    private static final int CONTENDERS_PER_SLOT = 16;
+    private static final int ROUNDS = 5;
+    private static final LocalTime FIRST_START = LocalTime.of(8, 0);
+
+    @Autowired
+    private SlotAdmissionService slotAdmissionService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private SlotClaimRepository slotClaimRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FacilityRepository facilityRepository;
+    @Autowired
+    private CourtRepository courtRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Court> courts = new ArrayList<>();
+    private User user;
+    private Facility facility;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .firstName("Bench")
+                .lastName("Player")
+                .email("admission-" + run + "@example.test")
+                .password("x")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+        facility = facilityRepository.save(Facility.builder()
+                .owner(user)
+                .name("Admission Arena " + run)
+                .address("1 Test Road")
+                .city("Testville")
+                .state("TS")
+                .zipCode("000000")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Court court : courts) {
+            List<Booking> bookings = bookingRepository.findByCourtId(court.getId());
+            transactionTemplate.executeWithoutResult(status ->
+                    bookings.forEach(booking -> slotClaimRepository.deleteByReservationId(booking.getId())));
+            bookingRepository.deleteAll(bookings);
+            courtRepository.deleteById(court.getId());
+        }
+        facilityRepository.deleteById(facility.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void admissionAgainstRowLockBaseline() throws Exception {
+        // Warm-up round each, so connection pool and JIT start even
+        run("warm-up", this::admitThroughService, 1);
+        run("warm-up", this::admitWithRowLock, 1);
+
+        Result admission = run("SlotAdmissionService", this::admitThroughService, ROUNDS);
+        Result rowLock = run("SELECT ... FOR UPDATE", this::admitWithRowLock, ROUNDS);
+
+        assertEquals(SLOTS * ROUNDS, admission.admitted());
+        assertEquals(SLOTS * ROUNDS, rowLock.admitted());
+        log.info("Admission throughput is {}x the row-lock baseline",
+                String.format("%.2f", admission.attemptsPerSecond() / rowLock.attemptsPerSecond()));
+    }
+
+    private Result run(String name, Strategy strategy, int rounds) throws Exception {
+        Court court = courtRepository.save(Court.builder()
+                .facility(facility)
+                .name(name + " court")
+                .sportType(SportType.BADMINTON)
+                .pricePerHour(100.0)
+                .build());
+        courts.add(court);
+
+        int attempts = SLOTS * CONTENDERS_PER_SLOT;
+        AtomicInteger admitted = new AtomicInteger();
+        long[] latencies = new long[attempts * rounds];
+        long elapsedNanos = 0;
+        for (int round = 0; round < rounds; round++) {
+            LocalDate date = LocalDate.now().plusDays(1 + round);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> futures = new ArrayList<>(attempts);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < attempts; i++) {
+                    LocalTime startTime = FIRST_START.plusHours(i % SLOTS);
+                    CourtSlot slot = new CourtSlot(court.getId(), date, startTime, startTime.plusHours(1));
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        long began = System.nanoTime();
+                        if (strategy.admit(slot)) {
+                            admitted.incrementAndGet();
+                        }
+                        return System.nanoTime() - began;
+                    }));
+                }
+                long began = System.nanoTime();
+                start.countDown();
+                for (int i = 0; i < attempts; i++) {
+                    latencies[round * attempts + i] = futures.get(i).get();
+                }
+                elapsedNanos += System.nanoTime() - began;
+            }
+        }
+
+        Arrays.sort(latencies);
+        Result result = new Result(admitted.get(), latencies.length / (elapsedNanos / 1e9));
+        log.info("{}: {} attempts, {} admitted, {} attempts/s, p50 {} ms, p99 {} ms", name, latencies.length,
+                result.admitted(), String.format("%.0f", result.attemptsPerSecond()),
+                latencies[latencies.length / 2] / 1_000_000, latencies[latencies.length * 99 / 100] / 1_000_000);
+        return result;
+    }
+
+    private boolean admitThroughService(CourtSlot slot) {
+        try {
+            slotAdmissionService.admit(null, slot, () -> bookingRepository.save(booking(slot)));
+            return true;
+        } catch (ResponseStatusException e) {
+            assertEquals(409, e.getStatusCode().value());
+            return false;
+        }
+    }
+
+    private boolean admitWithRowLock(CourtSlot slot) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("select id from court where id = ? for update", String.class, slot.courtId());
+            Integer overlapping = jdbcTemplate.queryForObject(
+                    "select count(*) from booking where court_id = ? and date = ? and status <> 'CANCELLED' " +
+                            "and start_time < ? and end_time > ?",
+                    Integer.class, slot.courtId(), Date.valueOf(slot.date()),
+                    Time.valueOf(slot.endTime()), Time.valueOf(slot.startTime()));
+            if (overlapping != null && overlapping > 0) {
+                return false;
+            }
+            bookingRepository.saveAndFlush(booking(slot));
+            return true;
+        }));
+    }
+
+    private Booking booking(CourtSlot slot) {
+        return Booking.builder()
+                .user(userRepository.getReferenceById(user.getId()))
+                .court(courtRepository.getReferenceById(slot.courtId()))
+                .date(slot.date())
+                .startTime(slot.startTime())
+                .endTime(slot.endTime())
+                .duration(60)
+                .status(BookingStatus.CONFIRMED)
+                .paymentStatus(PaymentStatus.PAID)
+                .build();
+    }
+
+    private interface Strategy {
+        boolean admit(CourtSlot slot);
+    }
+
+    private record Result(int admitted, double attemptsPerSecond) {
+    }
+}